@@ -0,0 +1,73 @@
+package eu.iamgio.mcitaliaapi.benchmark;
+
+import eu.iamgio.mcitaliaapi.util.AuthorStatistics;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Element;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Author block of the posts of a topic page: the shared scanner against the former split-based extraction.
+ * Scores are per post, run with <tt>-prof gc</tt> to compare allocations
+ * @author Gio
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@OperationsPerInvocation(AuthorStatisticsBenchmark.POSTS)
+public class AuthorStatisticsBenchmark {
+
+    static final int POSTS = 20;
+
+    private Element[][] blocks;
+
+    @Setup
+    public void setup() {
+        String html = new String(Fixtures.read("topic-" + POSTS + ".html"), StandardCharsets.UTF_8);
+        blocks = new Element[POSTS][];
+        int i = 0;
+        for(Element statistics : Jsoup.parse(html).getElementsByClass("author_statistics")) {
+            blocks[i++] = new Element[] {
+                    statistics,
+                    statistics.getElementsByClass("postbit_userthreads").first(),
+                    statistics.getElementsByClass("postbit_tylreceived").first(),
+                    statistics.getElementsByClass("postbit_tylgiven").first()
+            };
+        }
+    }
+
+    @Benchmark
+    public void scanning(Blackhole blackhole) {
+        for(Element[] block : blocks) {
+            blackhole.consume(AuthorStatistics.parse(block[0], block[1], block[2], block[3]));
+        }
+    }
+
+    @Benchmark
+    public void splitting(Blackhole blackhole) throws ParseException {
+        for(Element[] block : blocks) {
+            String[] statisticsParts = block[0].ownText().split(" ");
+            blackhole.consume(Integer.parseInt(statisticsParts[1].replace(",", "")));
+            String rawRegistrationDate = statisticsParts[statisticsParts.length - 2] + " " + statisticsParts[statisticsParts.length - 1];
+            blackhole.consume(new SimpleDateFormat("MMM yyyy", Locale.ENGLISH).parse(rawRegistrationDate));
+            blackhole.consume(Integer.parseInt(block[1].ownText().replace(",", "").split(" ")[1]));
+            String[] likesReceivedParts = block[2].ownText().replace(",", "").split(" ");
+            blackhole.consume(Integer.parseInt(likesReceivedParts[2]));
+            blackhole.consume(Integer.parseInt(likesReceivedParts[4]));
+            blackhole.consume(Integer.parseInt(block[3].ownText().replace(",", "").split(" ")[2]));
+        }
+    }
+}
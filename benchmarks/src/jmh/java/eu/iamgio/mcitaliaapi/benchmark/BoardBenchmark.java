@@ -0,0 +1,77 @@
+package eu.iamgio.mcitaliaapi.benchmark;
+
+import eu.iamgio.mcitaliaapi.board.Board;
+import eu.iamgio.mcitaliaapi.board.BoardPost;
+import eu.iamgio.mcitaliaapi.connection.json.JSONParser;
+import eu.iamgio.mcitaliaapi.connection.json.JsonReader;
+import org.json.simple.JSONObject;
+import org.json.simple.JSONValue;
+import org.jsoup.Jsoup;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Binding of board posts: streaming against the json-simple tree,
+ * and the response of a new post read raw against the former HTML-wrapped path
+ * @author Gio
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class BoardBenchmark {
+
+    private static final String URL = "https://www.minecraft-italia.it/board/get_posts?filter[type]=all&filter[uid]=0&start=0";
+
+    private String posts;
+    private byte[] newPost;
+
+    @Setup
+    public void setup() {
+        new Fixtures().serve(URL, "board-posts.json").install();
+        posts = new String(Fixtures.read("board-posts.json"), StandardCharsets.UTF_8);
+        newPost = Fixtures.read("board-post-add.json");
+    }
+
+    @Benchmark
+    public List<BoardPost> getBoardPosts() {
+        return Board.getBoardPosts(URL);
+    }
+
+    @Benchmark
+    public void fromJsonObject(Blackhole blackhole) {
+        JSONObject object = (JSONObject) JSONValue.parse(posts);
+        for(Object post : (List<?>) object.get("data")) {
+            blackhole.consume(BoardPost.fromJsonObject((JSONObject) post));
+        }
+    }
+
+    @Benchmark
+    public BoardPost newPostRaw() {
+        JsonReader reader = new JsonReader(newPost);
+        reader.beginObject();
+        while(!reader.nextName().equals("data")) {
+            reader.skipValue();
+        }
+        reader.beginObject();
+        while(!reader.nextName().equals("post")) {
+            reader.skipValue();
+        }
+        return BoardPost.fromJson(reader);
+    }
+
+    @Benchmark
+    public BoardPost newPostHtmlWrapped() {
+        JSONObject object = new JSONParser(Jsoup.parse(new String(newPost, StandardCharsets.UTF_8))).parse();
+        return BoardPost.fromJsonObject((JSONObject) ((JSONObject) object.get("data")).get("post"));
+    }
+}
@@ -0,0 +1,78 @@
+package eu.iamgio.mcitaliaapi.benchmark;
+
+import eu.iamgio.mcitaliaapi.connection.HttpConnection;
+import eu.iamgio.mcitaliaapi.connection.Request;
+import eu.iamgio.mcitaliaapi.connection.Response;
+import eu.iamgio.mcitaliaapi.connection.Transport;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Checked-in pages and API responses, served in place of the website by an in-memory {@link Transport}
+ * so that benchmarks measure parsing only
+ * @author Gio
+ */
+public class Fixtures implements Transport {
+
+    private final Map<String, byte[]> responses = new TreeMap<>();
+
+    /**
+     * Serves a fixture to every URL starting with the given prefix. The longest matching prefix wins
+     * @param urlPrefix Prefix of the requested URLs
+     * @param fixture Name of the fixture
+     * @return This for concatenating
+     */
+    public Fixtures serve(String urlPrefix, String fixture) {
+        responses.put(urlPrefix, read(fixture));
+        return this;
+    }
+
+    /**
+     * Sets this as the transport used by every request
+     * @return This for concatenating
+     */
+    public Fixtures install() {
+        HttpConnection.setTransport(this);
+        return this;
+    }
+
+    @Override
+    public Response execute(Request request) throws IOException {
+        String url = request.getUrl();
+        String match = null;
+        for(String prefix : responses.keySet()) {
+            if(url.startsWith(prefix) && (match == null || prefix.length() > match.length())) {
+                match = prefix;
+            }
+        }
+        if(match == null) {
+            return new Response(url, 404, Collections.emptyMap(), Collections.emptyMap(), "UTF-8", new byte[0]);
+        }
+        return new Response(url, 200, Collections.emptyMap(), Collections.emptyMap(), "UTF-8", responses.get(match));
+    }
+
+    /**
+     * @param fixture Name of the fixture
+     * @return Content of the fixture
+     */
+    public static byte[] read(String fixture) {
+        try(InputStream in = Fixtures.class.getResourceAsStream("/fixtures/" + fixture)) {
+            if(in == null) throw new IllegalArgumentException("Missing fixture " + fixture);
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        } catch(IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
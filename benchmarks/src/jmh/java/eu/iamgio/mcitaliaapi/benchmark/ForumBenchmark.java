@@ -0,0 +1,54 @@
+package eu.iamgio.mcitaliaapi.benchmark;
+
+import eu.iamgio.mcitaliaapi.forum.Forum;
+import eu.iamgio.mcitaliaapi.forum.ForumSection;
+import eu.iamgio.mcitaliaapi.forum.ForumSectionContainer;
+import eu.iamgio.mcitaliaapi.forum.ListedTopic;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing of the forum index into section containers, and of a section page into listed topics
+ * @author Gio
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ForumBenchmark {
+
+    private Forum forum;
+    private ForumSection section;
+
+    @Setup
+    public void setup() {
+        new Fixtures()
+                .serve(Forum.FORUM_URL, "forum.html")
+                .serve(Forum.FORUM_URL + "forum-", "section.html")
+                .install();
+        forum = Forum.getForum();
+        section = forum.getSectionContainers().get(0).getSections().get(0);
+    }
+
+    @Benchmark
+    public void getSections(Blackhole blackhole) {
+        forum.update();
+        for(ForumSectionContainer container : forum.getSectionContainers()) {
+            blackhole.consume(container.getSections());
+        }
+    }
+
+    @Benchmark
+    public List<ListedTopic> getTopics() {
+        section.update();
+        return section.getTopics(0);
+    }
+}
@@ -0,0 +1,38 @@
+package eu.iamgio.mcitaliaapi.benchmark;
+
+import eu.iamgio.mcitaliaapi.home.Article;
+import eu.iamgio.mcitaliaapi.home.Home;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing of the articles of the home
+ * @author Gio
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class HomeBenchmark {
+
+    private Home home;
+
+    @Setup
+    public void setup() {
+        new Fixtures().serve("https://www.minecraft-italia.it", "home.html").install();
+        home = Home.getHome();
+    }
+
+    @Benchmark
+    public List<Article> getArticles() {
+        home.update();
+        return home.getArticles();
+    }
+}
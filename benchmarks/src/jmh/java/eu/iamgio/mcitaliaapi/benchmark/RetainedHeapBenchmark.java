@@ -0,0 +1,77 @@
+package eu.iamgio.mcitaliaapi.benchmark;
+
+import eu.iamgio.mcitaliaapi.connection.HttpConnection;
+import eu.iamgio.mcitaliaapi.forum.Topic;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Heap retained by loaded topics, reported as the <tt>bytesPerTopic</tt> secondary result.
+ * With <tt>dom</tt> each topic also keeps the parsed page, as topics did before being flattened into fields.
+ * Measured as the difference of used heap after a full collection, so it is an estimate
+ * @author Gio
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class RetainedHeapBenchmark {
+
+    private static final String URL = "https://www.minecraft-italia.it/forum/thread-1.html";
+    private static final int TOPICS = 200;
+
+    @State(Scope.Benchmark)
+    public static class Pages {
+
+        @Param({"20", "50"})
+        public int posts;
+
+        @Param({"false", "true"})
+        public boolean dom;
+
+        @Setup
+        public void setup() {
+            new Fixtures().serve(URL, "topic-" + posts + ".html").install();
+        }
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Retained {
+
+        public long bytesPerTopic;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytesPerTopic = 0;
+        }
+    }
+
+    @Benchmark
+    public Object[] loadTopics(Pages pages, Retained retained) {
+        long before = usedHeap();
+        Object[] topics = new Object[TOPICS];
+        for(int i = 0; i < TOPICS; i++) {
+            Topic topic = Topic.fromUrl(URL);
+            topics[i] = pages.dom ? new Object[] {topic, new HttpConnection(URL).connect().get()} : topic;
+        }
+        retained.bytesPerTopic = (usedHeap() - before) / TOPICS;
+        return topics;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for(int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
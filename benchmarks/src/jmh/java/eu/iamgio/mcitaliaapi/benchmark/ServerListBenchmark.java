@@ -0,0 +1,35 @@
+package eu.iamgio.mcitaliaapi.benchmark;
+
+import eu.iamgio.mcitaliaapi.server.ListedServer;
+import eu.iamgio.mcitaliaapi.server.Server;
+import eu.iamgio.mcitaliaapi.server.ServerCategory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Binding of the server list
+ * @author Gio
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ServerListBenchmark {
+
+    @Setup
+    public void setup() {
+        new Fixtures().serve("https://www.minecraft-italia.it/api/server-list/", "server-list.json").install();
+    }
+
+    @Benchmark
+    public List<ListedServer> getServers() {
+        return ServerCategory.ALL.getServers(Server.Platform.PC);
+    }
+}
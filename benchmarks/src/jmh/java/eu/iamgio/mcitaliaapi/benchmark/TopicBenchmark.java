@@ -0,0 +1,60 @@
+package eu.iamgio.mcitaliaapi.benchmark;
+
+import eu.iamgio.mcitaliaapi.forum.Topic;
+import eu.iamgio.mcitaliaapi.forum.TopicParsers;
+import eu.iamgio.mcitaliaapi.forum.TopicPost;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing of a topic page into its posts. <tt>getPosts</tt> includes download and document parse,
+ * while the other methods extract the posts of an already parsed page, with the scoped walk and with the former
+ * per-post lookups that scanned the whole document for badges
+ * @author Gio
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class TopicBenchmark {
+
+    private static final String URL = "https://www.minecraft-italia.it/forum/thread-1.html";
+
+    @Param({"20", "50"})
+    public int posts;
+
+    private Document document;
+
+    @Setup
+    public void setup() {
+        String fixture = "topic-" + posts + ".html";
+        new Fixtures().serve(URL, fixture).install();
+        document = Jsoup.parse(new String(Fixtures.read(fixture), StandardCharsets.UTF_8), URL);
+    }
+
+    @Benchmark
+    public List<TopicPost> getPosts() {
+        return Topic.fromUrl(URL).getPosts();
+    }
+
+    @Benchmark
+    public List<TopicPost> parsePosts() {
+        return TopicParsers.parsePosts(document);
+    }
+
+    @Benchmark
+    public List<TopicPost> parsePostsDocumentWide() {
+        return TopicParsers.parsePostsDocumentWide(document);
+    }
+}
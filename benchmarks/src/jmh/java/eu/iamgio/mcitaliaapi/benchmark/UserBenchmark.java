@@ -0,0 +1,67 @@
+package eu.iamgio.mcitaliaapi.benchmark;
+
+import eu.iamgio.mcitaliaapi.user.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing of a profile page, and reading of every field of an already loaded user
+ * @author Gio
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class UserBenchmark {
+
+    private User user;
+
+    @Setup
+    public void setup() {
+        new Fixtures().serve("https://www.minecraft-italia.it/user/", "user.html").install();
+        user = User.fromNameLazy("Notch");
+        user.update();
+    }
+
+    @Benchmark
+    public void fetchAndGetFields(Blackhole blackhole) {
+        getFields(User.fromNameLazy("Notch"), blackhole);
+    }
+
+    @Benchmark
+    public void getFields(Blackhole blackhole) {
+        getFields(user, blackhole);
+    }
+
+    private static void getFields(User user, Blackhole blackhole) {
+        blackhole.consume(user.getUid());
+        blackhole.consume(user.isOnline());
+        blackhole.consume(user.isPrivate());
+        blackhole.consume(user.getAvatarUrl());
+        blackhole.consume(user.getMessagesCount());
+        blackhole.consume(user.getReputationScore());
+        blackhole.consume(user.getResourcesCount());
+        blackhole.consume(user.getRevisionsCount());
+        blackhole.consume(user.getFollowedCount());
+        blackhole.consume(user.getFollowersCount());
+        blackhole.consume(user.hasMinecraftAccount());
+        blackhole.consume(user.getMinecraftUsername());
+        blackhole.consume(user.getMinecraftSkinUrl());
+        blackhole.consume(user.getBio());
+        blackhole.consume(user.getMessagesPerDayCount());
+        blackhole.consume(user.getRegistrationDate());
+        blackhole.consume(user.getLastVisitDate());
+        blackhole.consume(user.getOnlineTime());
+        blackhole.consume(user.getGender());
+        blackhole.consume(user.getProvenance());
+        blackhole.consume(user.getBadges());
+        blackhole.consume(user.getSocialNetworks());
+    }
+}
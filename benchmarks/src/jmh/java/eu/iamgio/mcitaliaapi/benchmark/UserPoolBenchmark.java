@@ -0,0 +1,93 @@
+package eu.iamgio.mcitaliaapi.benchmark;
+
+import eu.iamgio.mcitaliaapi.user.UnparsedUser;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Heap retained by the user references of a crawl of 1000 topic pages,
+ * with a fresh instance per reference against the pooled ones, reported as the <tt>bytesPerReference</tt> secondary result.
+ * Names are copied for each page, as every parse produces new strings
+ * @author Gio
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class UserPoolBenchmark {
+
+    private static final int PAGES = 1000;
+
+    @State(Scope.Benchmark)
+    public static class Names {
+
+        @Param({"false", "true"})
+        public boolean pooled;
+
+        private List<String> names;
+
+        @Setup
+        public void setup() {
+            Document document = Jsoup.parse(new String(Fixtures.read("topic-50.html"), StandardCharsets.UTF_8));
+            names = new ArrayList<>();
+            for(Element element : document.getElementsByClass("username-inner")) {
+                names.add(element.text());
+            }
+            for(Element list : document.getElementsByClass("tyllist-users")) {
+                for(Element link : list.getElementsByTag("a")) {
+                    names.add(link.text());
+                }
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Retained {
+
+        public long bytesPerReference;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytesPerReference = 0;
+        }
+    }
+
+    @Benchmark
+    public UnparsedUser[] crawl(Names names, Retained retained) {
+        long before = usedHeap();
+        UnparsedUser[] users = new UnparsedUser[PAGES * names.names.size()];
+        int i = 0;
+        for(int page = 0; page < PAGES; page++) {
+            for(String name : names.names) {
+                String parsed = new String(name.toCharArray());
+                users[i++] = names.pooled ? UnparsedUser.of(parsed) : new UnparsedUser(parsed);
+            }
+        }
+        retained.bytesPerReference = (usedHeap() - before) / users.length;
+        return users;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for(int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
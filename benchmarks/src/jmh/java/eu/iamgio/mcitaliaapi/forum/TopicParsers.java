@@ -0,0 +1,84 @@
+package eu.iamgio.mcitaliaapi.forum;
+
+import eu.iamgio.mcitaliaapi.user.UnparsedUser;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Exposes the post extraction of {@link Topic} to the benchmarks, together with the former per-post extraction
+ * that looked up every element separately and scanned the whole document for the author's badges
+ * @author Gio
+ */
+public class TopicParsers {
+
+    private TopicParsers() {}
+
+    /**
+     * @param document Page of the topic
+     * @return Posts extracted with a single scoped walk per post
+     */
+    public static List<TopicPost> parsePosts(Document document) {
+        return Topic.parsePosts(document);
+    }
+
+    /**
+     * @param document Page of the topic
+     * @return Posts extracted as before, with a document-wide badge scan per post
+     */
+    public static List<TopicPost> parsePostsDocumentWide(Document document) {
+        List<TopicPost> posts = new ArrayList<>();
+        for(Element postElement : document.getElementsByClass("post")) {
+            posts.add(parsePostDocumentWide(postElement, document));
+        }
+        return posts;
+    }
+
+    private static TopicPost parsePostDocumentWide(Element postElement, Element badgesScope) {
+        String pid = postElement.attr("data-post-id");
+        long id = pid.isEmpty() ? -1 : Long.parseLong(pid);
+        Element authorElement = postElement.getElementsByClass("post_author").first();
+        Element bodyElement = postElement.getElementsByClass("post_body").first();
+        Element signatureElement = postElement.getElementsByClass("signature").first();
+        UnparsedUser user = new UnparsedUser(authorElement.getElementsByClass("username-inner").first().text());
+        String rawDate = postElement.getElementsByClass("post_date").first().ownText();
+        Element statisticsElement = authorElement.getElementsByClass("author_statistics").first();
+        String[] statisticsParts = statisticsElement.ownText().split(" ");
+        int userMessagesCount = Integer.parseInt(statisticsParts[1].replace(",", ""));
+        String rawRegistrationDate = statisticsParts[statisticsParts.length - 2] + " " + statisticsParts[statisticsParts.length - 1];
+        Date registrationDate = null;
+        try {
+            registrationDate = new SimpleDateFormat("MMM yyyy", Locale.ENGLISH).parse(rawRegistrationDate);
+        } catch(ParseException e) {
+            e.printStackTrace();
+        }
+        int userTopicsCount = Integer.parseInt(statisticsElement.getElementsByClass("postbit_userthreads").first().ownText().replace(",", "").split(" ")[1]);
+        String[] likesReceivedParts = statisticsElement.getElementsByClass("postbit_tylreceived").first().ownText().replace(",", "").split(" ");
+        int userLikesReceivedCount = Integer.parseInt(likesReceivedParts[2]);
+        int userLikedPostsCount = Integer.parseInt(likesReceivedParts[4]);
+        int userLikesGivenCount = Integer.parseInt(statisticsElement.getElementsByClass("postbit_tylgiven").first().ownText().replace(",", "").split(" ")[2]);
+        List<String> userBadges = new ArrayList<>();
+        for(Element badge : badgesScope.getElementsByClass("my-badge-inner")) {
+            userBadges.add(badge.text());
+        }
+        String userAvatarUrl = authorElement.getElementsByClass("author_avatar").first().getElementsByTag("img").first().attr("src");
+        boolean userOnline = authorElement.getElementsByClass("online-status").first().attr("title").equals("Online");
+        List<UnparsedUser> likeGivers = new ArrayList<>();
+        Element likeGiversElement = postElement.getElementsByClass("post_controls tyllist").first();
+        if(likeGiversElement != null) {
+            for(Element link : likeGiversElement.getElementsByClass("tyllist-users").first().getElementsByTag("a")) {
+                likeGivers.add(new UnparsedUser(link.text()));
+            }
+        }
+        String plainText = bodyElement.text();
+        String html = bodyElement.html();
+        String userSignatureHtml = signatureElement == null ? "" : signatureElement.html();
+        return new TopicPost(id, plainText, html, user, rawDate, userMessagesCount, userTopicsCount, userLikesReceivedCount, userLikedPostsCount, userLikesGivenCount, userBadges, rawRegistrationDate, registrationDate, userAvatarUrl, userOnline, likeGivers, userSignatureHtml);
+    }
+}
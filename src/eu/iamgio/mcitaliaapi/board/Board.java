@@ -1,12 +1,15 @@
 package eu.iamgio.mcitaliaapi.board;
 
-import eu.iamgio.mcitaliaapi.connection.json.JSONParser;
+import eu.iamgio.mcitaliaapi.connection.Urls;
+import eu.iamgio.mcitaliaapi.connection.json.JsonReader;
 import eu.iamgio.mcitaliaapi.exception.MinecraftItaliaException;
-import org.json.simple.JSONArray;
-import org.json.simple.JSONObject;
+import eu.iamgio.mcitaliaapi.metrics.Metrics;
+import eu.iamgio.mcitaliaapi.util.Async;
+import eu.iamgio.mcitaliaapi.util.PagedIterable;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Represents the board
@@ -33,20 +36,48 @@ public class Board {
      */
     public static List<BoardPost> getBoardPosts(String url) throws MinecraftItaliaException {
         List<BoardPost> posts = new ArrayList<>();
-        JSONObject object = new JSONParser(url).parse();
-        if(object.get("status").toString().equals("error")) throw new MinecraftItaliaException(object.get("descr").toString());
-        JSONArray array = (JSONArray) object.get("data");
-        for(Object obj : array) {
-            posts.add(BoardPost.fromJsonObject((JSONObject) obj));
+        String status = null, description = null;
+        JsonReader reader = JsonReader.fromUrl(url);
+        long start = System.nanoTime();
+        reader.beginObject();
+        while(reader.hasNext()) {
+            switch(reader.nextName()) {
+                case "status": status = reader.nextString(); break;
+                case "descr": description = reader.nextString(); break;
+                case "data":
+                    if(reader.peek() != JsonReader.Token.BEGIN_ARRAY) {
+                        reader.skipValue();
+                        break;
+                    }
+                    reader.beginArray();
+                    while(reader.hasNext()) {
+                        posts.add(BoardPost.fromJson(reader));
+                    }
+                    reader.endArray();
+                    break;
+                default: reader.skipValue();
+            }
         }
+        reader.endObject();
+        Metrics.recordParse(BoardPost.class, start);
+        if("error".equals(status)) throw new MinecraftItaliaException(description);
         return posts;
     }
 
+    /**
+     * @param url URL to parse JSON to, without the value of the final <tt>start</tt> parameter
+     * @param readAhead Amount of pages to fetch in advance
+     * @return Lazy sequence of every board post reachable from the URL
+     */
+    public static PagedIterable<BoardPost> iterateBoardPosts(String url, int readAhead) {
+        return new PagedIterable<>(start -> getBoardPosts(url + (start == null ? 0 : start.getId())), readAhead);
+    }
+
     /**
      * @return First 15 board posts
      */
     public List<BoardPost> getBoardPosts() {
-        return getBoardPosts("https://www.minecraft-italia.it/board/get_posts?filter[type]=all&filter[uid]=0&start=0");
+        return getBoardPosts(Urls.of("/board/get_posts?filter[type]=all&filter[uid]=0&start=0"));
     }
 
     /**
@@ -54,6 +85,36 @@ public class Board {
      * @return 15 board posts after <tt>start</tt>
      */
     public List<BoardPost> getBoardPosts(BoardPost start) {
-        return getBoardPosts("https://www.minecraft-italia.it/board/get_posts?filter[type]=all&filter[uid]=0&start=" + start.getId());
+        return getBoardPosts(Urls.of("/board/get_posts?filter[type]=all&filter[uid]=0&start=") + start.getId());
+    }
+
+    /**
+     * @param readAhead Amount of pages to fetch in advance
+     * @return Lazy sequence of every board post
+     */
+    public PagedIterable<BoardPost> iterateBoardPosts(int readAhead) {
+        return iterateBoardPosts(Urls.of("/board/get_posts?filter[type]=all&filter[uid]=0&start="), readAhead);
+    }
+
+    /**
+     * @return Lazy sequence of every board post, fetching one page in advance
+     */
+    public PagedIterable<BoardPost> iterateBoardPosts() {
+        return iterateBoardPosts(1);
+    }
+
+    /**
+     * @return Future of {@link #getBoardPosts()}
+     */
+    public CompletableFuture<List<BoardPost>> getBoardPostsAsync() {
+        return Async.supply(this::getBoardPosts);
+    }
+
+    /**
+     * @param start Start post
+     * @return Future of {@link #getBoardPosts(BoardPost)}
+     */
+    public CompletableFuture<List<BoardPost>> getBoardPostsAsync(BoardPost start) {
+        return Async.supply(() -> getBoardPosts(start));
     }
 }
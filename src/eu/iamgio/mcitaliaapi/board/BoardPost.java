@@ -1,5 +1,6 @@
 package eu.iamgio.mcitaliaapi.board;
 
+import eu.iamgio.mcitaliaapi.connection.json.JsonReader;
 import eu.iamgio.mcitaliaapi.user.UnparsedUser;
 import eu.iamgio.mcitaliaapi.util.Utils;
 import org.json.simple.JSONArray;
@@ -40,10 +41,10 @@ public class BoardPost {
         JSONObject interactionsJson = (JSONObject) json.get("interactions");
         long id = (long) json.get("id");
         long sharedId = (long) json.get("share");
-        UnparsedUser user = new UnparsedUser(json.get("username").toString());
+        UnparsedUser user = UnparsedUser.of(json.get("username").toString());
         Object targetJson = json.get("user_to");
         UnparsedUser target = targetJson instanceof JSONArray || ((JSONObject) targetJson).isEmpty() ?
-                null : new UnparsedUser(((JSONObject) targetJson).get("username").toString());
+                null : UnparsedUser.of(((JSONObject) targetJson).get("username").toString());
         String content = json.get("content").toString().replace("<br />", "");
         Object mediaObj = json.get("media");
         String mediaUrl = null;
@@ -59,6 +60,105 @@ public class BoardPost {
         return new BoardPost(id, sharedId == 0 ? null : sharedId, user, target, content, mediaUrl, date, likeGivers, sharers, comments);
     }
 
+    /**
+     * Binds a post object of the board API
+     * @param reader Reader positioned at the object
+     * @return Parsed post
+     */
+    public static BoardPost fromJson(JsonReader reader) {
+        long id = 0, sharedId = 0;
+        String username = null, targetName = null, content = null, mediaUrl = null;
+        Date date = null;
+        long[] likeGivers = new long[0], sharers = new long[0];
+        List<BoardPostComment> comments = new ArrayList<>();
+        reader.beginObject();
+        while(reader.hasNext()) {
+            switch(reader.nextName()) {
+                case "id": id = reader.nextLong(); break;
+                case "share": sharedId = reader.nextLong(); break;
+                case "username": username = reader.nextString(); break;
+                case "user_to": targetName = readObjectField(reader, "username"); break;
+                case "content": content = reader.nextString(); break;
+                case "media": mediaUrl = readObjectField(reader, "image"); break;
+                case "timestamp": date = new Date(reader.nextLong() * 1000); break;
+                case "interactions":
+                    // Objects only: an empty value may be sent as an empty array
+                    if(reader.peek() != JsonReader.Token.BEGIN_OBJECT) {
+                        reader.skipValue();
+                        break;
+                    }
+                    reader.beginObject();
+                    while(reader.hasNext()) {
+                        switch(reader.nextName()) {
+                            case "like": likeGivers = reader.nextLongArray(); break;
+                            case "share": sharers = reader.nextLongArray(); break;
+                            default: reader.skipValue();
+                        }
+                    }
+                    reader.endObject();
+                    break;
+                case "comments":
+                    reader.beginArray();
+                    while(reader.hasNext()) {
+                        comments.add(BoardPostComment.fromJson(reader));
+                    }
+                    reader.endArray();
+                    break;
+                default: reader.skipValue();
+            }
+        }
+        reader.endObject();
+        UnparsedUser target = targetName == null ? null : UnparsedUser.of(targetName);
+        if(content != null) content = content.replace("<br />", "");
+        return new BoardPost(id, sharedId == 0 ? null : sharedId, UnparsedUser.of(username), target, content, mediaUrl, date, likeGivers, sharers, comments);
+    }
+
+    /**
+     * Reads the <tt>like</tt> array of an <tt>interactions</tt> object of comments and replies
+     * @param reader Reader positioned at the object
+     * @return UIDs of the users who liked
+     */
+    static long[] readLikeGivers(JsonReader reader) {
+        long[] likeGivers = new long[0];
+        if(reader.peek() != JsonReader.Token.BEGIN_OBJECT) {
+            reader.skipValue();
+            return likeGivers;
+        }
+        reader.beginObject();
+        while(reader.hasNext()) {
+            if(reader.nextName().equals("like")) {
+                likeGivers = reader.nextLongArray();
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return likeGivers;
+    }
+
+    /**
+     * @param reader Reader positioned at a value
+     * @param name Name of the field
+     * @return Field of the value as a string if it is an object, <tt>null</tt> otherwise
+     */
+    private static String readObjectField(JsonReader reader, String name) {
+        if(reader.peek() != JsonReader.Token.BEGIN_OBJECT) {
+            reader.skipValue();
+            return null;
+        }
+        String value = null;
+        reader.beginObject();
+        while(reader.hasNext()) {
+            if(reader.nextName().equals(name)) {
+                value = reader.nextString();
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return value;
+    }
+
     /**
      * @return Post ID
      */
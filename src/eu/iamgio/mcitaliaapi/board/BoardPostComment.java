@@ -1,5 +1,6 @@
 package eu.iamgio.mcitaliaapi.board;
 
+import eu.iamgio.mcitaliaapi.connection.json.JsonReader;
 import eu.iamgio.mcitaliaapi.user.UnparsedUser;
 import eu.iamgio.mcitaliaapi.util.Utils;
 import org.json.simple.JSONArray;
@@ -34,7 +35,7 @@ public class BoardPostComment {
     public static BoardPostComment fromJsonObject(JSONObject json) {
         JSONObject commentInteractionsJson = (JSONObject) json.get("interactions");
         int commentId = Integer.parseInt(json.get("id").toString());
-        UnparsedUser commentUser = new UnparsedUser(json.get("username").toString());
+        UnparsedUser commentUser = UnparsedUser.of(json.get("username").toString());
         String commentContent = json.get("content").toString();
         Date commentDate = Utils.getDateByTimestamp(json.get("timestamp").toString());
         long[] commentLikeGivers = Utils.longJsonArrayToLongArray((JSONArray) commentInteractionsJson.get("like"));
@@ -46,6 +47,39 @@ public class BoardPostComment {
         return new BoardPostComment(commentId, commentUser, commentContent, commentDate, commentLikeGivers, replies);
     }
 
+    /**
+     * Binds a comment object of the board API
+     * @param reader Reader positioned at the object
+     * @return Parsed comment
+     */
+    public static BoardPostComment fromJson(JsonReader reader) {
+        int id = 0;
+        String username = null, content = null;
+        Date date = null;
+        long[] likeGivers = new long[0];
+        List<BoardPostReply> replies = new ArrayList<>();
+        reader.beginObject();
+        while(reader.hasNext()) {
+            switch(reader.nextName()) {
+                case "id": id = reader.nextInt(); break;
+                case "username": username = reader.nextString(); break;
+                case "content": content = reader.nextString(); break;
+                case "timestamp": date = new Date(reader.nextLong() * 1000); break;
+                case "interactions": likeGivers = BoardPost.readLikeGivers(reader); break;
+                case "replies":
+                    reader.beginArray();
+                    while(reader.hasNext()) {
+                        replies.add(BoardPostReply.fromJson(reader));
+                    }
+                    reader.endArray();
+                    break;
+                default: reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return new BoardPostComment(id, UnparsedUser.of(username), content, date, likeGivers, replies);
+    }
+
     /**
      * @return Comment ID
      */
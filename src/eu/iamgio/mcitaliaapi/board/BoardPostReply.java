@@ -1,5 +1,6 @@
 package eu.iamgio.mcitaliaapi.board;
 
+import eu.iamgio.mcitaliaapi.connection.json.JsonReader;
 import eu.iamgio.mcitaliaapi.user.UnparsedUser;
 import eu.iamgio.mcitaliaapi.util.Utils;
 import org.json.simple.JSONArray;
@@ -30,13 +31,38 @@ public class BoardPostReply {
     public static BoardPostReply fromJsonObject(JSONObject json) {
         JSONObject replyInteractionsJson = (JSONObject) json.get("interactions");
         int replyId = Integer.parseInt(json.get("id").toString());
-        UnparsedUser replyUser = new UnparsedUser(json.get("username").toString());
+        UnparsedUser replyUser = UnparsedUser.of(json.get("username").toString());
         String replyContent = json.get("content").toString();
         Date replyDate = Utils.getDateByTimestamp(json.get("timestamp").toString());
         long[] replyLikeGivers = Utils.longJsonArrayToLongArray((JSONArray) replyInteractionsJson.get("like"));
         return new BoardPostReply(replyId, replyUser, replyContent, replyDate, replyLikeGivers);
     }
 
+    /**
+     * Binds a reply object of the board API
+     * @param reader Reader positioned at the object
+     * @return Parsed reply
+     */
+    public static BoardPostReply fromJson(JsonReader reader) {
+        int id = 0;
+        String username = null, content = null;
+        Date date = null;
+        long[] likeGivers = new long[0];
+        reader.beginObject();
+        while(reader.hasNext()) {
+            switch(reader.nextName()) {
+                case "id": id = reader.nextInt(); break;
+                case "username": username = reader.nextString(); break;
+                case "content": content = reader.nextString(); break;
+                case "timestamp": date = new Date(reader.nextLong() * 1000); break;
+                case "interactions": likeGivers = BoardPost.readLikeGivers(reader); break;
+                default: reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return new BoardPostReply(id, UnparsedUser.of(username), content, date, likeGivers);
+    }
+
     /**
      * @return Reply ID
      */
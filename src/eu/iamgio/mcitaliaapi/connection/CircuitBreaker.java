@@ -0,0 +1,100 @@
+package eu.iamgio.mcitaliaapi.connection;
+
+import eu.iamgio.mcitaliaapi.exception.CircuitOpenException;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-host circuit breaker: after a number of consecutive failures (I/O errors or 5xx statuses)
+ * requests to the host fail immediately for a while. Then a single trial request is let through:
+ * if it succeeds requests are allowed again, otherwise the host stays suspended for another period
+ * @author Gio
+ */
+public class CircuitBreaker {
+
+    private static final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+
+    private static volatile int failureThreshold = 5;
+    private static volatile long openDuration = 30000;
+
+    private final String host;
+
+    private int failures;
+    private long openUntil;
+    private boolean trialRunning;
+
+    private CircuitBreaker(String host) {
+        this.host = host;
+    }
+
+    /**
+     * @param host Host
+     * @return Circuit breaker of the host
+     */
+    public static CircuitBreaker of(String host) {
+        return breakers.computeIfAbsent(host, CircuitBreaker::new);
+    }
+
+    /**
+     * Sets the behavior of every circuit breaker
+     * @param failureThreshold Amount of consecutive failures that suspend a host. <tt>0</tt> to never suspend hosts
+     * @param openDuration Time in millis a host stays suspended
+     */
+    public static void configure(int failureThreshold, long openDuration) {
+        if(failureThreshold < 0 || openDuration < 0) throw new IllegalArgumentException("Invalid circuit breaker settings");
+        CircuitBreaker.failureThreshold = failureThreshold;
+        CircuitBreaker.openDuration = openDuration;
+    }
+
+    /**
+     * @return Host of this circuit breaker
+     */
+    public String getHost() {
+        return host;
+    }
+
+    /**
+     * @return <tt>true</tt> if requests to the host are currently suspended
+     */
+    public synchronized boolean isOpen() {
+        return failureThreshold > 0 && failures >= failureThreshold && System.currentTimeMillis() < openUntil;
+    }
+
+    /**
+     * Resets the breaker, allowing requests again
+     */
+    public synchronized void reset() {
+        failures = 0;
+        trialRunning = false;
+    }
+
+    /**
+     * Must be called before a request
+     * @throws CircuitOpenException if requests to the host are suspended
+     */
+    synchronized void acquire() throws CircuitOpenException {
+        if(failureThreshold == 0 || failures < failureThreshold) return;
+        if(System.currentTimeMillis() < openUntil || trialRunning) throw new CircuitOpenException(host);
+        trialRunning = true;
+    }
+
+    /**
+     * Records a successful request
+     */
+    synchronized void onSuccess() {
+        failures = 0;
+        trialRunning = false;
+    }
+
+    /**
+     * Records a failed request
+     */
+    synchronized void onFailure() {
+        failures++;
+        trialRunning = false;
+        if(failureThreshold > 0 && failures >= failureThreshold) {
+            openUntil = System.currentTimeMillis() + openDuration;
+        }
+    }
+}
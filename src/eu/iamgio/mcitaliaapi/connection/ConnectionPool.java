@@ -0,0 +1,115 @@
+package eu.iamgio.mcitaliaapi.connection;
+
+import java.io.InterruptedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Bounded pool of HTTP connections shared by every request of a {@link PooledTransport}.
+ * Sockets are kept alive and reused by the JVM (HTTP/1.1 keep-alive):
+ * this class bounds how many requests may be in flight at once, both globally and per host.
+ * How many idle sockets the JVM keeps is a process-wide setting, see {@link #configureKeepAlive(int)}
+ * @author Gio
+ */
+public class ConnectionPool {
+
+    private static ConnectionPool defaultPool;
+    private static boolean keepAliveConfigured;
+
+    private int maxConnections, maxConnectionsPerHost;
+
+    private Semaphore permits;
+    private Map<String, Semaphore> hostPermits = new ConcurrentHashMap<>();
+
+    /**
+     * @param maxConnections Max amount of requests in flight at once
+     * @param maxConnectionsPerHost Max amount of requests in flight at once towards the same host
+     */
+    public ConnectionPool(int maxConnections, int maxConnectionsPerHost) {
+        if(maxConnections <= 0 || maxConnectionsPerHost <= 0) {
+            throw new IllegalArgumentException("Invalid pool settings");
+        }
+        this.maxConnections = maxConnections;
+        this.maxConnectionsPerHost = maxConnectionsPerHost;
+        this.permits = new Semaphore(maxConnections, true);
+    }
+
+    /**
+     * @return Default pool: 64 connections, 8 per host. Keep-alive is configured with 8 idle sockets per host if not configured yet
+     */
+    public static synchronized ConnectionPool getDefault() {
+        if(defaultPool == null) {
+            configureKeepAlive(8);
+            defaultPool = new ConnectionPool(64, 8);
+        }
+        return defaultPool;
+    }
+
+    /**
+     * Configures the keep-alive of the JVM through the <tt>http.keepAlive</tt> and <tt>http.maxConnections</tt> system properties.
+     * These settings are process-wide and are read by the JVM only once, when its first HTTP connection is opened:
+     * this method must be called before any request, and only its first call has effect.
+     * Properties already set by the application are not overwritten
+     * @param maxIdleConnectionsPerHost Max amount of idle sockets kept per host
+     */
+    public static synchronized void configureKeepAlive(int maxIdleConnectionsPerHost) {
+        if(maxIdleConnectionsPerHost <= 0) throw new IllegalArgumentException("Invalid amount of idle connections");
+        if(keepAliveConfigured) return;
+        keepAliveConfigured = true;
+        if(System.getProperty("http.keepAlive") == null) System.setProperty("http.keepAlive", "true");
+        if(System.getProperty("http.maxConnections") == null) System.setProperty("http.maxConnections", String.valueOf(maxIdleConnectionsPerHost));
+    }
+
+    /**
+     * @return Max amount of requests in flight at once
+     */
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    /**
+     * @return Max amount of requests in flight at once towards the same host
+     */
+    public int getMaxConnectionsPerHost() {
+        return maxConnectionsPerHost;
+    }
+
+    /**
+     * @return Amount of requests currently in flight
+     */
+    public int getActiveConnections() {
+        return maxConnections - permits.availablePermits();
+    }
+
+    /**
+     * Waits for a free connection towards <tt>host</tt>
+     * @param host Target host
+     * @throws InterruptedIOException if the thread was interrupted while waiting
+     */
+    void acquire(String host) throws InterruptedIOException {
+        Semaphore hostSemaphore = hostPermits.computeIfAbsent(host, h -> new Semaphore(maxConnectionsPerHost, true));
+        try {
+            hostSemaphore.acquire();
+        } catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a connection to " + host);
+        }
+        try {
+            permits.acquire();
+        } catch(InterruptedException e) {
+            hostSemaphore.release();
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a connection to " + host);
+        }
+    }
+
+    /**
+     * Gives back a connection towards <tt>host</tt>
+     * @param host Target host
+     */
+    void release(String host) {
+        permits.release();
+        hostPermits.get(host).release();
+    }
+}
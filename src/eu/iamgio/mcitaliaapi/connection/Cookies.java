@@ -1,13 +1,15 @@
 package eu.iamgio.mcitaliaapi.connection;
 
-import java.util.HashMap;
 import java.util.Map;
 
 /**
  * Global cookies
+ * @deprecated Cookies are owned by each {@link Session}: use {@link Session#getCookies()}.
+ * This field is a view of the cookies of the initial default session and reassigning it has no effect
  * @author Gio
  */
+@Deprecated
 public class Cookies {
 
-    public static Map<String, String> cookies = new HashMap<>();
+    public static Map<String, String> cookies = Session.getDefault().getCookies();
 }
@@ -0,0 +1,60 @@
+package eu.iamgio.mcitaliaapi.connection;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+
+/**
+ * Groups of endpoints of the website that can be rate limited separately
+ * @author Gio
+ */
+public enum EndpointFamily {
+
+    /**
+     * Forum pages (<tt>/forum/*</tt>)
+     */
+    FORUM("/forum/"),
+
+    /**
+     * JSON APIs (<tt>/api/*</tt>)
+     */
+    API("/api/"),
+
+    /**
+     * Board (<tt>/board/*</tt>)
+     */
+    BOARD("/board/"),
+
+    /**
+     * Notifications (<tt>/notification/*</tt>)
+     */
+    NOTIFICATION("/notification/"),
+
+    /**
+     * Any other endpoint
+     */
+    OTHER(null);
+
+    private final String pathPrefix;
+
+    EndpointFamily(String pathPrefix) {
+        this.pathPrefix = pathPrefix;
+    }
+
+    /**
+     * @param url Requested URL
+     * @return Family of the endpoint
+     */
+    public static EndpointFamily of(String url) {
+        String path;
+        try {
+            path = new URI(url).getRawPath();
+        } catch(URISyntaxException e) {
+            return OTHER;
+        }
+        if(path == null) return OTHER;
+        for(EndpointFamily family : values()) {
+            if(family.pathPrefix != null && path.startsWith(family.pathPrefix)) return family;
+        }
+        return OTHER;
+    }
+}
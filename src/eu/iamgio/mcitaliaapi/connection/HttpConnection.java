@@ -1,16 +1,19 @@
 package eu.iamgio.mcitaliaapi.connection;
 
+import eu.iamgio.mcitaliaapi.exception.CircuitOpenException;
+import eu.iamgio.mcitaliaapi.exception.HttpStatusException;
 import eu.iamgio.mcitaliaapi.exception.MinecraftItaliaException;
+import eu.iamgio.mcitaliaapi.metrics.Metrics;
+import eu.iamgio.mcitaliaapi.metrics.Phase;
+import eu.iamgio.mcitaliaapi.metrics.RequestEvent;
 import org.jsoup.Connection;
-import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 
-import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
 import java.net.URL;
-import java.net.URLConnection;
+import java.util.EnumMap;
 import java.util.Map;
 
 /**
@@ -19,33 +22,119 @@ import java.util.Map;
  */
 public class HttpConnection {
 
+    private static Transport transport;
+    private static volatile RetryPolicy defaultRetryPolicy = RetryPolicy.getDefault();
+
     private String url;
-    private Connection connection;
+    private Session session;
+    private Request request;
+    private Response response;
+    private RetryPolicy retryPolicy = defaultRetryPolicy;
 
     /**
      * @param url URL of the web page
+     * @param session Session whose cookies and transport are used
      */
-    public HttpConnection(String url) {
+    public HttpConnection(String url, Session session) {
         this.url = url;
+        this.session = session;
+    }
+
+    /**
+     * @param url URL of the web page
+     * @see Session#current()
+     */
+    public HttpConnection(String url) {
+        this(url, Session.current());
+    }
+
+    /**
+     * @return Transport used to execute every request
+     */
+    public static synchronized Transport getTransport() {
+        if(transport == null) transport = new PooledTransport(ConnectionPool.getDefault());
+        return transport;
     }
 
-    public String read() throws Exception {
-        URL website = new URL(url);
-        URLConnection connection = website.openConnection();
+    /**
+     * Sets the transport used to execute every request
+     * @param transport Transport
+     */
+    public static synchronized void setTransport(Transport transport) {
+        HttpConnection.transport = transport;
+    }
+
+    /**
+     * @return Retry policy used by new connections
+     */
+    public static RetryPolicy getDefaultRetryPolicy() {
+        return defaultRetryPolicy;
+    }
+
+    /**
+     * Sets the retry policy used by new connections
+     * @param retryPolicy Retry policy
+     */
+    public static void setDefaultRetryPolicy(RetryPolicy retryPolicy) {
+        defaultRetryPolicy = retryPolicy;
+    }
+
+    /**
+     * Sets the retry policy of this connection. It applies to GET requests only, since they are idempotent
+     * @param retryPolicy Retry policy
+     * @return This for concatenating
+     */
+    public HttpConnection retryPolicy(RetryPolicy retryPolicy) {
+        this.retryPolicy = retryPolicy;
+        return this;
+    }
+
+    /**
+     * Conditional GET request: the page is downloaded and parsed only if it changed
+     * since the response the validators come from
+     * @param validators Validators of the previous response, as returned by {@link #getValidators()}. <tt>null</tt> to always download
+     * @return Parsed {@link Document}, or <tt>null</tt> if the page did not change
+     * @throws HttpStatusException if the server answered with a transient error status after every retry
+     * @throws MinecraftItaliaException if an error occurred during the request
+     */
+    public Document getIfModified(Validators validators) throws MinecraftItaliaException {
+        if(validators != null) validators.apply(request);
+        Response response = execute(Connection.Method.GET);
+        return response.isNotModified() ? null : response.parse();
+    }
+
+    /**
+     * GET request without HTML parsing
+     * @return Response body
+     * @throws IOException if an error occurred during the request
+     * @throws HttpStatusException if the server returned an error status
+     */
+    public String read() throws IOException, HttpStatusException {
+        return readResponse().body();
+    }
+
+    /**
+     * GET request without decoding the body
+     * @return Stream of the response body bytes
+     * @throws IOException if an error occurred during the request
+     * @throws HttpStatusException if the server returned an error status
+     */
+    public InputStream openStream() throws IOException, HttpStatusException {
+        return readResponse().bodyStream();
+    }
+
+    private Response readResponse() throws IOException, HttpStatusException {
+        Request request = new Request(url);
         StringBuilder cookieString = new StringBuilder();
-        for(String cookie : Cookies.cookies.keySet()) {
-            cookieString.append(cookie).append("=").append(Cookies.cookies.get(cookie)).append("; ");
+        for(Map.Entry<String, String> cookie : session.getCookies().entrySet()) {
+            cookieString.append(cookie.getKey()).append("=").append(cookie.getValue()).append("; ");
         }
-        connection.setRequestProperty("Cookie", cookieString.toString());
-        BufferedReader in = new BufferedReader(
-                new InputStreamReader(
-                        connection.getInputStream()));
-        StringBuilder response = new StringBuilder();
-        String inputLine;
-        while((inputLine = in.readLine()) != null)
-            response.append(inputLine);
-        in.close();
-        return response.toString();
+        request.getHeaders().put("Cookie", cookieString.toString());
+        Response response = send(request);
+        if(response.statusCode() >= 400) {
+            throw new HttpStatusException(url, response.statusCode());
+        }
+        return response;
     }
 
     /**
@@ -53,47 +142,160 @@ public class HttpConnection {
      * @return This for concatenating
      */
     public HttpConnection connect() {
-        this.connection = Jsoup.connect(url)
-                .userAgent("Mozilla")
-                .referrer("http://www.google.com")
-                .ignoreContentType(true)
-                .ignoreHttpErrors(true)
-                .followRedirects(true)
-                .cookies(Cookies.cookies);
+        this.request = new Request(url);
+        request.getHeaders().put("User-Agent", "Mozilla");
+        request.getHeaders().put("Referer", "http://www.google.com");
+        request.getCookies().putAll(session.getCookies());
         return this;
     }
 
     /**
-     * GET request
-     * @return Parsed {@link Document}
+     * Sends the request of this connection
+     * @param method HTTP method
+     * @return Response
+     * @throws HttpStatusException if the server still answered with a transient error status (e.g. 503) once retries ended,
+     * so that an error page is never parsed as content
      * @throws MinecraftItaliaException if an error occurred during the request
      */
-    public Document get() throws MinecraftItaliaException {
+    private Response execute(Connection.Method method) throws HttpStatusException, MinecraftItaliaException {
+        request.setMethod(method);
         try {
-            return this.connection.get();
+            this.response = send(request);
         } catch(IOException e) {
-            throw new MinecraftItaliaException(e.getMessage());
+            throw new MinecraftItaliaException(e.getMessage(), e);
+        }
+        // Keeps cookies across subsequent requests of the same connection
+        request.getCookies().putAll(response.cookies());
+        if(retryPolicy.isRetryable(response.statusCode())) {
+            throw new HttpStatusException(url, response.statusCode());
         }
+        return response;
+    }
+
+    /**
+     * Sends a request, honoring rate limits and the circuit breaker of the host.
+     * GET requests are retried according to the retry policy
+     * @param request Request
+     * @return Response, which may have an error status
+     * @throws IOException if the request failed after every attempt
+     * @throws CircuitOpenException if requests to the host are suspended
+     */
+    private Response send(Request request) throws IOException, CircuitOpenException {
+        RetryPolicy policy = request.getMethod() == Connection.Method.GET ? retryPolicy : RetryPolicy.none();
+        CircuitBreaker breaker = CircuitBreaker.of(new URL(request.getUrl()).getHost());
+        for(int attempt = 1; ; attempt++) {
+            RateLimits.acquire(request.getUrl());
+            breaker.acquire();
+            Response response = null;
+            long start = System.nanoTime();
+            try {
+                response = session.getTransport().execute(request);
+            } catch(IOException e) {
+                breaker.onFailure();
+                record(request, null, e, start);
+                if(attempt >= policy.getMaxAttempts()) throw e;
+            } catch(RuntimeException e) {
+                breaker.onFailure();
+                record(request, null, e, start);
+                throw e;
+            }
+            if(response != null) {
+                record(request, response, null, start);
+                if(response.statusCode() >= 500) {
+                    breaker.onFailure();
+                } else {
+                    breaker.onSuccess();
+                }
+                if(attempt >= policy.getMaxAttempts() || !policy.isRetryable(response.statusCode())) return response;
+            }
+            try {
+                Thread.sleep(policy.getDelay(attempt, response));
+            } catch(InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting to retry " + request.getUrl());
+            }
+        }
+    }
+
+    /**
+     * Reports a request to the metrics recorder
+     * @param request Sent request
+     * @param response Received response. <tt>null</tt> if the transport failed
+     * @param error Exception thrown by the transport. <tt>null</tt> if a response was received
+     * @param start Value of {@link System#nanoTime()} when the request was sent
+     */
+    private static void record(Request request, Response response, Throwable error, long start) {
+        if(!Metrics.isEnabled()) return;
+        Map<Phase, Long> times = new EnumMap<>(Phase.class);
+        if(response != null) times.putAll(response.times());
+        times.put(Phase.TOTAL, System.nanoTime() - start);
+        Metrics.getRecorder().recordRequest(new RequestEvent(
+                EndpointFamily.of(request.getUrl()), request.getMethod().name(),
+                response == null ? -1 : response.statusCode(), response == null ? 0 : response.bodyAsBytes().length,
+                error, times
+        ));
+    }
+
+    /**
+     * GET request
+     * @return Parsed {@link Document}
+     * @throws HttpStatusException if the server answered with a transient error status after every retry
+     * @throws MinecraftItaliaException if an error occurred during the request
+     */
+    public Document get() throws MinecraftItaliaException {
+        return execute(Connection.Method.GET).parse();
+    }
+
+    /**
+     * GET request without HTML parsing
+     * @return Raw response
+     * @throws HttpStatusException if the server answered with a transient error status after every retry
+     * @throws MinecraftItaliaException if an error occurred during the request
+     */
+    public Response getRaw() throws MinecraftItaliaException {
+        return execute(Connection.Method.GET);
     }
 
     /**
      * POST request
      * @return Parsed {@link Document}
+     * @throws HttpStatusException if the server answered with a transient error status after every retry
      * @throws MinecraftItaliaException if an error occurred during the request
      */
     public Document post() throws MinecraftItaliaException {
-        try {
-            return this.connection.post();
-        } catch(IOException e) {
-            throw new MinecraftItaliaException(e.getMessage());
-        }
+        return execute(Connection.Method.POST).parse();
+    }
+
+    /**
+     * POST request without HTML parsing, for endpoints answering with JSON
+     * @return Raw response
+     * @throws HttpStatusException if the server answered with a transient error status after every retry
+     * @throws MinecraftItaliaException if an error occurred during the request
+     */
+    public Response postRaw() throws MinecraftItaliaException {
+        return execute(Connection.Method.POST);
+    }
+
+    /**
+     * @return Session used by this connection
+     */
+    public Session getSession() {
+        return session;
     }
 
     /**
      * @return Connection response
      */
-    public Connection.Response getResponse() {
-        return this.connection.response();
+    public Response getResponse() {
+        return response;
+    }
+
+    /**
+     * @return Validators of the last response, to be passed to {@link #getIfModified(Validators)}
+     * in order to update the same page later. <tt>null</tt> if the server did not send any
+     */
+    public Validators getValidators() {
+        return response == null ? null : Validators.of(response);
     }
 
     /**
@@ -103,7 +305,7 @@ public class HttpConnection {
      * @return This for concatenating
      */
     public HttpConnection data(String k, String v) {
-        this.connection = connection.data(k, v);
+        request.addData(k, v);
         return this;
     }
 
@@ -115,12 +317,17 @@ public class HttpConnection {
      * @return This for concatenating
      */
     public HttpConnection data(String k, String name, InputStream inputStream) {
-        this.connection = connection.data(k, name, inputStream);
+        request.addData(k, name, inputStream);
         return this;
     }
 
+    /**
+     * Adds cookies to request
+     * @param cookies Cookies
+     * @return This for concatenating
+     */
     public HttpConnection cookies(Map<String, String> cookies) {
-        this.connection = connection.cookies(cookies);
+        request.getCookies().putAll(cookies);
         return this;
     }
 
@@ -131,7 +338,7 @@ public class HttpConnection {
      * @return This for concatenating
      */
     public HttpConnection header(String k, String v) {
-        this.connection = connection.header(k, v);
+        request.getHeaders().put(k, v);
         return this;
     }
 
@@ -141,7 +348,7 @@ public class HttpConnection {
      * @return This for concatenating
      */
     public HttpConnection requestBody(String body) {
-        this.connection = connection.requestBody(body);
+        request.setBody(body);
         return this;
     }
 }
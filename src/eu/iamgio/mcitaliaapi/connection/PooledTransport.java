@@ -0,0 +1,90 @@
+package eu.iamgio.mcitaliaapi.connection;
+
+import eu.iamgio.mcitaliaapi.metrics.Metrics;
+import eu.iamgio.mcitaliaapi.metrics.Phase;
+import org.jsoup.Connection;
+import org.jsoup.Jsoup;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.URL;
+import java.net.UnknownHostException;
+
+/**
+ * Default {@link Transport}: executes requests through Jsoup, bounded by a {@link ConnectionPool}.
+ * Response bodies are always fully read so that the underlying socket goes back to the keep-alive cache
+ * @author Gio
+ */
+public class PooledTransport implements Transport {
+
+    private ConnectionPool pool;
+    private int timeout;
+
+    /**
+     * @param pool Connection pool
+     * @param timeout Connect and read timeout in millis
+     */
+    public PooledTransport(ConnectionPool pool, int timeout) {
+        this.pool = pool;
+        this.timeout = timeout;
+    }
+
+    /**
+     * @param pool Connection pool
+     */
+    public PooledTransport(ConnectionPool pool) {
+        this(pool, 30000);
+    }
+
+    /**
+     * @return Connection pool
+     */
+    public ConnectionPool getPool() {
+        return pool;
+    }
+
+    @Override
+    public Response execute(Request request) throws IOException {
+        String host = new URL(request.getUrl()).getHost();
+        long queued = System.nanoTime();
+        pool.acquire(host);
+        try {
+            long resolving = System.nanoTime();
+            long dns = -1;
+            if(Metrics.isEnabled()) {
+                // Resolved ahead so that resolution is measured apart: the connection then hits the JVM's DNS cache
+                try {
+                    InetAddress.getByName(host);
+                    dns = System.nanoTime() - resolving;
+                } catch(UnknownHostException ignored) {}
+            }
+            Connection connection = Jsoup.connect(request.getUrl())
+                    .method(request.getMethod())
+                    .timeout(timeout)
+                    .maxBodySize(0)
+                    .ignoreContentType(true)
+                    .ignoreHttpErrors(true)
+                    .followRedirects(true)
+                    .headers(request.getHeaders())
+                    .cookies(request.getCookies())
+                    .data(request.getData());
+            if(request.getBody() != null) {
+                connection.requestBody(request.getBody());
+            }
+            long sent = System.nanoTime();
+            // The body is read lazily, after the headers
+            Connection.Response response = connection.execute();
+            long received = System.nanoTime();
+            byte[] body = response.bodyAsBytes();
+            long downloaded = System.nanoTime();
+            Response result = new Response(response.url().toExternalForm(), response.statusCode(), response.headers(), response.cookies(), response.charset(), body);
+            result.setTime(Phase.QUEUE, resolving - queued);
+            if(dns >= 0) result.setTime(Phase.DNS, dns);
+            result.setTime(Phase.TTFB, received - sent);
+            result.setTime(Phase.DOWNLOAD, downloaded - received);
+            return result;
+        } finally {
+            pool.release(host);
+        }
+    }
+}
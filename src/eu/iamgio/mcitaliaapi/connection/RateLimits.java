@@ -0,0 +1,65 @@
+package eu.iamgio.mcitaliaapi.connection;
+
+import eu.iamgio.mcitaliaapi.util.RateLimiter;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Rate limits applied by {@link HttpConnection} to every outgoing request:
+ * a request waits for a permit of the global limiter and then for one of the limiter of its {@link EndpointFamily}.
+ * No limit is applied by default
+ * @author Gio
+ */
+public class RateLimits {
+
+    private static volatile RateLimiter global;
+    private static final Map<EndpointFamily, RateLimiter> families = new EnumMap<>(EndpointFamily.class);
+
+    private RateLimits() {}
+
+    /**
+     * @return Limiter shared by every request. <tt>null</tt> if unlimited
+     */
+    public static RateLimiter getGlobal() {
+        return global;
+    }
+
+    /**
+     * @param limiter Limiter shared by every request. <tt>null</tt> to remove the limit
+     */
+    public static void setGlobal(RateLimiter limiter) {
+        global = limiter;
+    }
+
+    /**
+     * @param family Endpoint family
+     * @return Limiter of the family. <tt>null</tt> if unlimited
+     */
+    public static synchronized RateLimiter get(EndpointFamily family) {
+        return families.get(family);
+    }
+
+    /**
+     * @param family Endpoint family
+     * @param limiter Limiter of the family. <tt>null</tt> to remove the limit
+     */
+    public static synchronized void set(EndpointFamily family, RateLimiter limiter) {
+        if(limiter == null) {
+            families.remove(family);
+        } else {
+            families.put(family, limiter);
+        }
+    }
+
+    /**
+     * Blocks until a request to the URL is allowed
+     * @param url Requested URL
+     */
+    static void acquire(String url) {
+        RateLimiter global = RateLimits.global;
+        if(global != null) global.acquire();
+        RateLimiter family = get(EndpointFamily.of(url));
+        if(family != null) family.acquire();
+    }
+}
@@ -0,0 +1,45 @@
+package eu.iamgio.mcitaliaapi.connection;
+
+import java.io.IOException;
+
+/**
+ * Transport that sends requests through another transport and records every response to a {@link ResponseArchive},
+ * so that they can be replayed later by a {@link ReplayTransport}
+ * @author Gio
+ */
+public class RecordingTransport implements Transport {
+
+    private final Transport delegate;
+    private final ResponseArchive archive;
+
+    /**
+     * @param delegate Transport that actually sends the requests
+     * @param archive Archive the responses are recorded to
+     */
+    public RecordingTransport(Transport delegate, ResponseArchive archive) {
+        this.delegate = delegate;
+        this.archive = archive;
+    }
+
+    /**
+     * Records the responses of the global transport
+     * @param archive Archive the responses are recorded to
+     */
+    public RecordingTransport(ResponseArchive archive) {
+        this(HttpConnection.getTransport(), archive);
+    }
+
+    /**
+     * @return Archive the responses are recorded to
+     */
+    public ResponseArchive getArchive() {
+        return archive;
+    }
+
+    @Override
+    public Response execute(Request request) throws IOException {
+        Response response = delegate.execute(request);
+        archive.write(request, response);
+        return response;
+    }
+}
@@ -0,0 +1,81 @@
+package eu.iamgio.mcitaliaapi.connection;
+
+import eu.iamgio.mcitaliaapi.metrics.Phase;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Transport that answers every request with the response recorded in a {@link ResponseArchive}, without any network access.
+ * Latency and bandwidth of the website can be simulated, per request: concurrent requests wait independently.
+ * Requests with no recorded response are answered with <tt>404 Not Found</tt>
+ * @author Gio
+ */
+public class ReplayTransport implements Transport {
+
+    private final ResponseArchive archive;
+    private volatile long latency;
+    private volatile long bandwidth;
+
+    /**
+     * @param archive Archive the responses are read from
+     */
+    public ReplayTransport(ResponseArchive archive) {
+        this.archive = archive;
+    }
+
+    /**
+     * @param latency Time in millis waited before each response. 0 by default
+     * @return This for concatenating
+     */
+    public ReplayTransport latency(long latency) {
+        if(latency < 0) throw new IllegalArgumentException("Invalid latency");
+        this.latency = latency;
+        return this;
+    }
+
+    /**
+     * @param bandwidth Bytes per second each response body is delivered at. 0 (default) for unlimited
+     * @return This for concatenating
+     */
+    public ReplayTransport bandwidth(long bandwidth) {
+        if(bandwidth < 0) throw new IllegalArgumentException("Invalid bandwidth");
+        this.bandwidth = bandwidth;
+        return this;
+    }
+
+    /**
+     * @return Archive the responses are read from
+     */
+    public ResponseArchive getArchive() {
+        return archive;
+    }
+
+    @Override
+    public Response execute(Request request) throws IOException {
+        Response response = archive.read(request);
+        if(response == null) {
+            response = new Response(request.getUrl(), 404, Collections.emptyMap(), Collections.emptyMap(), null, new byte[0]);
+        }
+        long bandwidth = this.bandwidth;
+        long latency = TimeUnit.MILLISECONDS.toNanos(this.latency);
+        long download = bandwidth > 0 ? TimeUnit.SECONDS.toNanos(response.bodyAsBytes().length) / bandwidth : 0;
+        sleep(latency, request);
+        sleep(download, request);
+        response.setTime(Phase.TTFB, latency);
+        response.setTime(Phase.DOWNLOAD, download);
+        return response;
+    }
+
+    private static void sleep(long nanos, Request request) throws InterruptedIOException {
+        if(nanos <= 0) return;
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while replaying " + request.getUrl());
+        }
+    }
+}
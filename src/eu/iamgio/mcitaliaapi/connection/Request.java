@@ -0,0 +1,106 @@
+package eu.iamgio.mcitaliaapi.connection;
+
+import org.jsoup.Connection;
+import org.jsoup.helper.HttpConnection;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Represents an outgoing HTTP request, independent from the {@link Transport} that executes it
+ * @author Gio
+ */
+public class Request {
+
+    private String url;
+    private Connection.Method method = Connection.Method.GET;
+    private List<Connection.KeyVal> data = new ArrayList<>();
+    private Map<String, String> headers = new LinkedHashMap<>();
+    private Map<String, String> cookies = new LinkedHashMap<>();
+    private String body;
+
+    /**
+     * @param url Target URL
+     */
+    public Request(String url) {
+        this.url = url;
+    }
+
+    /**
+     * @return Target URL
+     */
+    public String getUrl() {
+        return url;
+    }
+
+    /**
+     * @return Request method
+     */
+    public Connection.Method getMethod() {
+        return method;
+    }
+
+    /**
+     * @param method Request method
+     */
+    public void setMethod(Connection.Method method) {
+        this.method = method;
+    }
+
+    /**
+     * @return Request parameters
+     */
+    public List<Connection.KeyVal> getData() {
+        return data;
+    }
+
+    /**
+     * Adds a parameter
+     * @param key Parameter name
+     * @param value Parameter value
+     */
+    public void addData(String key, String value) {
+        data.add(HttpConnection.KeyVal.create(key, value));
+    }
+
+    /**
+     * Adds a file parameter
+     * @param key Parameter name
+     * @param name File name
+     * @param inputStream Input stream
+     */
+    public void addData(String key, String name, InputStream inputStream) {
+        data.add(HttpConnection.KeyVal.create(key, name, inputStream));
+    }
+
+    /**
+     * @return Request headers
+     */
+    public Map<String, String> getHeaders() {
+        return headers;
+    }
+
+    /**
+     * @return Cookies sent with the request
+     */
+    public Map<String, String> getCookies() {
+        return cookies;
+    }
+
+    /**
+     * @return Raw request body. <tt>null</tt> if not set
+     */
+    public String getBody() {
+        return body;
+    }
+
+    /**
+     * @param body Raw request body
+     */
+    public void setBody(String body) {
+        this.body = body;
+    }
+}
@@ -0,0 +1,152 @@
+package eu.iamgio.mcitaliaapi.connection;
+
+import eu.iamgio.mcitaliaapi.exception.MinecraftItaliaException;
+import eu.iamgio.mcitaliaapi.metrics.Metrics;
+import eu.iamgio.mcitaliaapi.metrics.Phase;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Represents a fully read HTTP response returned by a {@link Transport}
+ * @author Gio
+ */
+public class Response {
+
+    private String url;
+    private int statusCode;
+    private Map<String, String> headers;
+    private Map<String, String> cookies;
+    private String charset;
+    private byte[] body;
+    private Map<Phase, Long> times = new EnumMap<>(Phase.class);
+
+    /**
+     * @param url Final URL (after redirects)
+     * @param statusCode HTTP status code
+     * @param headers Response headers
+     * @param cookies Cookies set by the response
+     * @param charset Charset of the body. <tt>null</tt> if unknown
+     * @param body Body bytes
+     */
+    public Response(String url, int statusCode, Map<String, String> headers, Map<String, String> cookies, String charset, byte[] body) {
+        this.url = url;
+        this.statusCode = statusCode;
+        this.headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        this.headers.putAll(headers);
+        this.cookies = cookies;
+        this.charset = charset;
+        this.body = body;
+    }
+
+    /**
+     * @return Final URL (after redirects)
+     */
+    public String url() {
+        return url;
+    }
+
+    /**
+     * @return HTTP status code
+     */
+    public int statusCode() {
+        return statusCode;
+    }
+
+    /**
+     * @return <tt>true</tt> if the server answered a conditional request with <tt>304 Not Modified</tt>
+     */
+    public boolean isNotModified() {
+        return statusCode == 304;
+    }
+
+    /**
+     * @param name Header name (case insensitive)
+     * @return Header value. <tt>null</tt> if not present
+     */
+    public String header(String name) {
+        return headers.get(name);
+    }
+
+    /**
+     * @return Response headers
+     */
+    public Map<String, String> headers() {
+        return Collections.unmodifiableMap(headers);
+    }
+
+    /**
+     * @return Cookies set by the response
+     */
+    public Map<String, String> cookies() {
+        return cookies;
+    }
+
+    /**
+     * @return Charset of the body. <tt>null</tt> if unknown
+     */
+    public String charset() {
+        return charset;
+    }
+
+    /**
+     * @return Body as raw bytes
+     */
+    public byte[] bodyAsBytes() {
+        return body;
+    }
+
+    /**
+     * @return Body as input stream
+     */
+    public InputStream bodyStream() {
+        return new ByteArrayInputStream(body);
+    }
+
+    /**
+     * @return Body as string, decoded using the response charset (UTF-8 if unknown)
+     */
+    public String body() {
+        Charset charset = this.charset == null ? StandardCharsets.UTF_8 : Charset.forName(this.charset);
+        return new String(body, charset);
+    }
+
+    /**
+     * @return Time in nanos spent by the transport in each measured phase. Empty if the transport does not measure them
+     */
+    public Map<Phase, Long> times() {
+        return Collections.unmodifiableMap(times);
+    }
+
+    /**
+     * @param phase Phase of the request
+     * @param nanos Time in nanos spent in the phase
+     */
+    void setTime(Phase phase, long nanos) {
+        times.put(phase, nanos);
+    }
+
+    /**
+     * @return Body parsed as HTML
+     * @throws MinecraftItaliaException if the body could not be parsed
+     */
+    public Document parse() throws MinecraftItaliaException {
+        long start = System.nanoTime();
+        try {
+            Document document = Jsoup.parse(bodyStream(), charset, url);
+            Metrics.recordParse(Document.class, start);
+            return document;
+        } catch(IOException e) {
+            throw new MinecraftItaliaException(e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package eu.iamgio.mcitaliaapi.connection;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Directory of recorded responses, written by {@link RecordingTransport} and read by {@link ReplayTransport}.
+ * Responses are keyed by request method and by path and query of the URL, so that an archive recorded
+ * from the live website can be replayed under any base URL (see {@link Urls#setBaseUrl(String)}).
+ * Request data is not part of the key: the last recorded response of a key is replayed
+ * @author Gio
+ */
+public class ResponseArchive {
+
+    private static final int VERSION = 1;
+
+    private final Path directory;
+
+    /**
+     * @param directory Directory of the archive. It is created on the first write if it does not exist
+     */
+    public ResponseArchive(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * @return Directory of the archive
+     */
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Stores a response, replacing the one recorded for the same request if any
+     * @param request Sent request
+     * @param response Received response
+     * @throws IOException if the response could not be written
+     */
+    public void write(Request request, Response response) throws IOException {
+        Files.createDirectories(directory);
+        Path file = file(request);
+        Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try(DataOutputStream out = new DataOutputStream(Files.newOutputStream(temp))) {
+            out.writeInt(VERSION);
+            out.writeUTF(request.getMethod().name());
+            out.writeUTF(Urls.pathOf(request.getUrl()));
+            out.writeInt(response.statusCode());
+            out.writeUTF(response.charset() == null ? "" : response.charset());
+            writeMap(out, response.headers());
+            writeMap(out, response.cookies());
+            byte[] body = response.bodyAsBytes();
+            out.writeInt(body.length);
+            out.write(body);
+        } catch(IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        // Concurrent readers never see a partially written response
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * @param request Request to replay
+     * @return Response recorded for the request, with the URL of the request. <tt>null</tt> if none was recorded
+     * @throws IOException if the response could not be read
+     */
+    public Response read(Request request) throws IOException {
+        try(DataInputStream in = new DataInputStream(Files.newInputStream(file(request)))) {
+            if(in.readInt() != VERSION) throw new IOException("Unsupported archive version in " + directory);
+            in.readUTF();
+            in.readUTF();
+            int statusCode = in.readInt();
+            String charset = in.readUTF();
+            Map<String, String> headers = readMap(in);
+            Map<String, String> cookies = readMap(in);
+            byte[] body = new byte[in.readInt()];
+            in.readFully(body);
+            return new Response(request.getUrl(), statusCode, headers, cookies, charset.isEmpty() ? null : charset, body);
+        } catch(NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    private Path file(Request request) {
+        String key = request.getMethod().name() + " " + Urls.pathOf(request.getUrl());
+        try {
+            StringBuilder name = new StringBuilder();
+            for(byte b : MessageDigest.getInstance("SHA-1").digest(key.getBytes(StandardCharsets.UTF_8))) {
+                name.append(String.format("%02x", b));
+            }
+            return directory.resolve(name.append(".response").toString());
+        } catch(NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void writeMap(DataOutputStream out, Map<String, String> map) throws IOException {
+        out.writeInt(map.size());
+        for(Map.Entry<String, String> entry : map.entrySet()) {
+            out.writeUTF(entry.getKey());
+            out.writeUTF(entry.getValue());
+        }
+    }
+
+    private static Map<String, String> readMap(DataInputStream in) throws IOException {
+        int size = in.readInt();
+        Map<String, String> map = new HashMap<>();
+        for(int i = 0; i < size; i++) {
+            map.put(in.readUTF(), in.readUTF());
+        }
+        return map;
+    }
+}
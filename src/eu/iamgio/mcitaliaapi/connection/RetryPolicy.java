@@ -0,0 +1,94 @@
+package eu.iamgio.mcitaliaapi.connection;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Policy used to retry idempotent requests that failed because of I/O errors or transient error statuses
+ * (408, 429, 500, 502, 503, 504). The delay before each retry grows exponentially, with random jitter
+ * so that concurrent clients do not retry all at once. A <tt>Retry-After</tt> header sent by the server is honored
+ * @author Gio
+ */
+public final class RetryPolicy {
+
+    private static final RetryPolicy NONE = new RetryPolicy(1, 0, 0);
+
+    private final int maxAttempts;
+    private final long baseDelay, maxDelay;
+
+    /**
+     * @param maxAttempts Max amount of attempts, including the first one
+     * @param baseDelay Delay in millis before the first retry, doubled at every further one
+     * @param maxDelay Max delay in millis before a retry
+     */
+    public RetryPolicy(int maxAttempts, long baseDelay, long maxDelay) {
+        if(maxAttempts < 1 || baseDelay < 0 || maxDelay < baseDelay) throw new IllegalArgumentException("Invalid retry policy");
+        this.maxAttempts = maxAttempts;
+        this.baseDelay = baseDelay;
+        this.maxDelay = maxDelay;
+    }
+
+    /**
+     * @return Policy that never retries
+     */
+    public static RetryPolicy none() {
+        return NONE;
+    }
+
+    /**
+     * @return Policy that performs up to 3 attempts, waiting from 500 millis up to 10 seconds
+     */
+    public static RetryPolicy getDefault() {
+        return new RetryPolicy(3, 500, 10000);
+    }
+
+    /**
+     * @return Max amount of attempts, including the first one
+     */
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    /**
+     * @return Delay in millis before the first retry
+     */
+    public long getBaseDelay() {
+        return baseDelay;
+    }
+
+    /**
+     * @return Max delay in millis before a retry
+     */
+    public long getMaxDelay() {
+        return maxDelay;
+    }
+
+    /**
+     * @param statusCode HTTP status code
+     * @return <tt>true</tt> if a request that returned the status is worth retrying
+     */
+    public boolean isRetryable(int statusCode) {
+        switch(statusCode) {
+            case 408: case 429: case 500: case 502: case 503: case 504:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * @param attempt Number of the failed attempt, starting from 1
+     * @param response Failed response. <tt>null</tt> if the request failed with an I/O error
+     * @return Delay in millis before the next attempt
+     */
+    long getDelay(int attempt, Response response) {
+        long exponential = Math.min(maxDelay, baseDelay << Math.min(attempt - 1, 30));
+        long delay = exponential / 2 + ThreadLocalRandom.current().nextLong(exponential / 2 + 1);
+        String retryAfter = response == null ? null : response.header("Retry-After");
+        if(retryAfter != null) {
+            try {
+                delay = Math.max(delay, Long.parseLong(retryAfter.trim()) * 1000);
+            } catch(NumberFormatException ignored) {}
+        }
+        return Math.min(delay, maxDelay);
+    }
+}
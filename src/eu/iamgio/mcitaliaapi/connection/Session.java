@@ -0,0 +1,124 @@
+package eu.iamgio.mcitaliaapi.connection;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Represents an independent browsing session: it owns its cookies, its post key and optionally its own {@link Transport}.
+ * Every {@link HttpConnection} created without an explicit session uses the session bound to the current thread
+ * via {@link #call(Supplier)}, or the default session if none is bound.
+ * Sessions are thread-safe, so different accounts can be used in parallel
+ * @author Gio
+ */
+public class Session {
+
+    private static volatile Session defaultSession = new Session();
+    private static final ThreadLocal<Session> current = new ThreadLocal<>();
+
+    private final Map<String, String> cookies = new ConcurrentHashMap<>();
+    private volatile String postKey;
+    private volatile Transport transport;
+
+    /**
+     * @return Session used when no other session is bound to the current thread
+     */
+    public static Session getDefault() {
+        return defaultSession;
+    }
+
+    /**
+     * Sets the session used when no other session is bound to the current thread
+     * @param session Default session
+     */
+    public static void setDefault(Session session) {
+        defaultSession = session;
+    }
+
+    /**
+     * @return Session bound to the current thread, or the default one
+     */
+    public static Session current() {
+        Session session = current.get();
+        return session == null ? defaultSession : session;
+    }
+
+    /**
+     * Runs a task with this session bound to the current thread,
+     * so that every request performed by the task uses this session
+     * @param task Task
+     * @param <T> Result type
+     * @return Result of the task
+     */
+    public <T> T call(Supplier<T> task) {
+        Session previous = current.get();
+        current.set(this);
+        try {
+            return task.get();
+        } finally {
+            if(previous == null) {
+                current.remove();
+            } else {
+                current.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Runs a task with this session bound to the current thread
+     * @param task Task
+     * @see #call(Supplier)
+     */
+    public void run(Runnable task) {
+        call(() -> {
+            task.run();
+            return null;
+        });
+    }
+
+    /**
+     * @return Live, thread-safe view of the cookies of this session
+     */
+    public Map<String, String> getCookies() {
+        return cookies;
+    }
+
+    /**
+     * Replaces every cookie of this session
+     * @param cookies New cookies
+     */
+    public void setCookies(Map<String, String> cookies) {
+        // Never leaves the jar empty in the meantime, since it may be read concurrently
+        this.cookies.putAll(cookies);
+        this.cookies.keySet().retainAll(cookies.keySet());
+    }
+
+    /**
+     * @return Key required by the website to perform actions as the logged user. <tt>null</tt> if not logged
+     */
+    public String getPostKey() {
+        return postKey;
+    }
+
+    /**
+     * @param postKey Key required by the website to perform actions as the logged user
+     */
+    public void setPostKey(String postKey) {
+        this.postKey = postKey;
+    }
+
+    /**
+     * @return Transport used by this session: its own one if set, the global one otherwise
+     */
+    public Transport getTransport() {
+        Transport transport = this.transport;
+        return transport == null ? HttpConnection.getTransport() : transport;
+    }
+
+    /**
+     * @param transport Transport used by this session. <tt>null</tt> to use the global one
+     */
+    public void setTransport(Transport transport) {
+        this.transport = transport;
+    }
+}
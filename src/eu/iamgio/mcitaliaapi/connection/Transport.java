@@ -0,0 +1,19 @@
+package eu.iamgio.mcitaliaapi.connection;
+
+import java.io.IOException;
+
+/**
+ * Layer that actually sends requests over the network.
+ * Every {@link HttpConnection} is executed through the transport set via {@link HttpConnection#setTransport(Transport)}
+ * @author Gio
+ */
+public interface Transport {
+
+    /**
+     * Executes a request and fully reads its response
+     * @param request Request to execute
+     * @return Response
+     * @throws IOException if an error occurred during the request
+     */
+    Response execute(Request request) throws IOException;
+}
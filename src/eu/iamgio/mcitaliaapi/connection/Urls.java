@@ -0,0 +1,59 @@
+package eu.iamgio.mcitaliaapi.connection;
+
+import eu.iamgio.mcitaliaapi.forum.Forum;
+
+/**
+ * Builds the URLs of the website. The base URL can be overridden,
+ * e.g. to run load tests against a local stand-in instead of the live website
+ * @author Gio
+ */
+public class Urls {
+
+    /**
+     * URL of the live website
+     */
+    public static final String DEFAULT_BASE_URL = "https://www.minecraft-italia.it";
+
+    private static volatile String baseUrl = DEFAULT_BASE_URL;
+
+    private Urls() {}
+
+    /**
+     * @return Scheme and host every request is sent to, without trailing slash
+     */
+    public static String getBaseUrl() {
+        return baseUrl;
+    }
+
+    /**
+     * Sets the scheme and host every request is sent to. {@link Forum#FORUM_URL} is updated accordingly.
+     * Objects created before the change keep their URLs
+     * @param baseUrl Base URL, e.g. <tt>http://localhost:8080</tt>. <tt>null</tt> to restore {@link #DEFAULT_BASE_URL}
+     */
+    public static void setBaseUrl(String baseUrl) {
+        if(baseUrl == null) baseUrl = DEFAULT_BASE_URL;
+        while(baseUrl.endsWith("/")) {
+            baseUrl = baseUrl.substring(0, baseUrl.length() - 1);
+        }
+        Urls.baseUrl = baseUrl;
+        Forum.FORUM_URL = baseUrl + "/forum/";
+    }
+
+    /**
+     * @param path Absolute path, including the query string if any
+     * @return Full URL of the path on the current base URL
+     */
+    public static String of(String path) {
+        return baseUrl + path;
+    }
+
+    /**
+     * @param url Full URL
+     * @return Path and query string of the URL, without scheme and host
+     */
+    static String pathOf(String url) {
+        int schemeEnd = url.indexOf("://");
+        int pathStart = url.indexOf('/', schemeEnd < 0 ? 0 : schemeEnd + 3);
+        return pathStart < 0 ? "/" : url.substring(pathStart);
+    }
+}
@@ -0,0 +1,50 @@
+package eu.iamgio.mcitaliaapi.connection;
+
+/**
+ * Validators of a response (<tt>ETag</tt> and <tt>Last-Modified</tt>), used to perform conditional requests
+ * that are answered with <tt>304 Not Modified</tt> if the resource did not change
+ * @author Gio
+ */
+public final class Validators {
+
+    private final String etag, lastModified;
+
+    private Validators(String etag, String lastModified) {
+        this.etag = etag;
+        this.lastModified = lastModified;
+    }
+
+    /**
+     * @param response Response
+     * @return Validators of the response. <tt>null</tt> if the response has none
+     */
+    public static Validators of(Response response) {
+        String etag = response.header("ETag");
+        String lastModified = response.header("Last-Modified");
+        if(etag == null && lastModified == null) return null;
+        return new Validators(etag, lastModified);
+    }
+
+    /**
+     * @return <tt>ETag</tt> of the response. <tt>null</tt> if missing
+     */
+    public String getETag() {
+        return etag;
+    }
+
+    /**
+     * @return <tt>Last-Modified</tt> date of the response. <tt>null</tt> if missing
+     */
+    public String getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * Makes a request conditional
+     * @param request Request
+     */
+    void apply(Request request) {
+        if(etag != null) request.getHeaders().put("If-None-Match", etag);
+        if(lastModified != null) request.getHeaders().put("If-Modified-Since", lastModified);
+    }
+}
@@ -1,11 +1,17 @@
 package eu.iamgio.mcitaliaapi.connection.json;
 
 import eu.iamgio.mcitaliaapi.connection.HttpConnection;
+import eu.iamgio.mcitaliaapi.connection.Response;
+import eu.iamgio.mcitaliaapi.connection.Session;
+import eu.iamgio.mcitaliaapi.exception.HttpStatusException;
+import eu.iamgio.mcitaliaapi.exception.MinecraftItaliaException;
 import org.json.simple.JSONArray;
 import org.json.simple.JSONObject;
 import org.json.simple.JSONValue;
 import org.jsoup.nodes.Document;
 
+import java.io.IOException;
+
 /**
  * @author Gio
  */
@@ -13,14 +19,31 @@ public class JSONParser {
 
     private String json;
 
-    public JSONParser(String url) throws RuntimeException {
+    public JSONParser(String url) throws MinecraftItaliaException {
+        this(url, Session.current());
+    }
+
+    /**
+     * @param url URL of the JSON resource
+     * @param session Session used to perform the request
+     * @throws MinecraftItaliaException if the request failed. The original exception is kept as cause,
+     *         and an error status is reported as {@link HttpStatusException}
+     */
+    public JSONParser(String url, Session session) throws MinecraftItaliaException {
         try {
-            this.json = new HttpConnection(url).read();
-        } catch(Exception e) {
-            throw new RuntimeException();
+            this.json = new HttpConnection(url, session).read();
+        } catch(IOException e) {
+            throw new MinecraftItaliaException("Could not read " + url + ": " + e.getMessage(), e);
         }
     }
 
+    /**
+     * @param response Response whose body is JSON, as returned by {@link HttpConnection#postRaw()}
+     */
+    public JSONParser(Response response) {
+        this.json = response.body();
+    }
+
     public JSONParser(Document document) {
         this.json = document.body().html();
     }
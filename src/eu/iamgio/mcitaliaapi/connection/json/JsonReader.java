@@ -0,0 +1,504 @@
+package eu.iamgio.mcitaliaapi.connection.json;
+
+import eu.iamgio.mcitaliaapi.connection.HttpConnection;
+import eu.iamgio.mcitaliaapi.connection.Session;
+import eu.iamgio.mcitaliaapi.exception.MinecraftItaliaException;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * Pull parser that decodes UTF-8 JSON straight from bytes, one token at a time,
+ * so that values can be bound to fields without building intermediate maps, boxed numbers or the whole document as a string.
+ * For convenience of API responses, whose types are not consistent, numbers and booleans can be read from strings and vice versa
+ * @author Gio
+ */
+public class JsonReader implements Closeable {
+
+    /**
+     * Type of a JSON token
+     */
+    public enum Token {
+        BEGIN_OBJECT, END_OBJECT, BEGIN_ARRAY, END_ARRAY, NAME, STRING, NUMBER, BOOLEAN, NULL, END_DOCUMENT
+    }
+
+    private static final int EMPTY_DOCUMENT = 0, NONEMPTY_DOCUMENT = 1, EMPTY_ARRAY = 2, NONEMPTY_ARRAY = 3,
+            EMPTY_OBJECT = 4, DANGLING_NAME = 5, NONEMPTY_OBJECT = 6;
+
+    private final InputStream in;
+    private final byte[] buffer = new byte[8192];
+    private int pos, limit;
+
+    private int[] stack = new int[32];
+    private int stackSize = 1;
+
+    private Token peeked;
+    private boolean booleanValue;
+
+    private char[] chars = new char[64];
+    private int charsLength;
+
+    /**
+     * @param in UTF-8 JSON input
+     */
+    public JsonReader(InputStream in) {
+        this.in = in;
+        this.stack[0] = EMPTY_DOCUMENT;
+    }
+
+    /**
+     * @param json UTF-8 JSON bytes
+     */
+    public JsonReader(byte[] json) {
+        this(new ByteArrayInputStream(json));
+    }
+
+    /**
+     * @param url URL of the JSON resource
+     * @return Reader of the resource
+     * @throws MinecraftItaliaException if the request failed
+     */
+    public static JsonReader fromUrl(String url) throws MinecraftItaliaException {
+        return fromUrl(url, Session.current());
+    }
+
+    /**
+     * @param url URL of the JSON resource
+     * @param session Session used to perform the request
+     * @return Reader of the resource
+     * @throws MinecraftItaliaException if the request failed
+     */
+    public static JsonReader fromUrl(String url, Session session) throws MinecraftItaliaException {
+        try {
+            return new JsonReader(new HttpConnection(url, session).openStream());
+        } catch(IOException e) {
+            throw new MinecraftItaliaException("Could not read " + url + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * @return Type of the next token, without consuming it
+     * @throws MinecraftItaliaException if the JSON is malformed
+     */
+    public Token peek() throws MinecraftItaliaException {
+        if(peeked == null) peeked = doPeek();
+        return peeked;
+    }
+
+    /**
+     * Consumes the beginning of an object
+     */
+    public void beginObject() throws MinecraftItaliaException {
+        expect(Token.BEGIN_OBJECT);
+        push(EMPTY_OBJECT);
+    }
+
+    /**
+     * Consumes the end of an object
+     */
+    public void endObject() throws MinecraftItaliaException {
+        expect(Token.END_OBJECT);
+        stackSize--;
+    }
+
+    /**
+     * Consumes the beginning of an array
+     */
+    public void beginArray() throws MinecraftItaliaException {
+        expect(Token.BEGIN_ARRAY);
+        push(EMPTY_ARRAY);
+    }
+
+    /**
+     * Consumes the end of an array
+     */
+    public void endArray() throws MinecraftItaliaException {
+        expect(Token.END_ARRAY);
+        stackSize--;
+    }
+
+    /**
+     * @return <tt>true</tt> if the current object or array has more elements
+     */
+    public boolean hasNext() throws MinecraftItaliaException {
+        Token token = peek();
+        return token != Token.END_OBJECT && token != Token.END_ARRAY && token != Token.END_DOCUMENT;
+    }
+
+    /**
+     * @return Name of the next property
+     */
+    public String nextName() throws MinecraftItaliaException {
+        expect(Token.NAME);
+        readString();
+        return new String(chars, 0, charsLength);
+    }
+
+    /**
+     * @return Next value as a string. <tt>null</tt> if the value is <tt>null</tt>
+     */
+    public String nextString() throws MinecraftItaliaException {
+        Token token = peek();
+        switch(token) {
+            case STRING:
+                peeked = null;
+                readString();
+                return new String(chars, 0, charsLength);
+            case NUMBER:
+                peeked = null;
+                return new String(chars, 0, charsLength);
+            case BOOLEAN:
+                peeked = null;
+                return String.valueOf(booleanValue);
+            case NULL:
+                peeked = null;
+                return null;
+            default:
+                throw syntaxError("Expected a string but was " + token);
+        }
+    }
+
+    /**
+     * @return Next value as a long. Numeric strings are accepted
+     */
+    public long nextLong() throws MinecraftItaliaException {
+        Token token = peek();
+        if(token == Token.STRING) {
+            peeked = null;
+            readString();
+        } else if(token == Token.NUMBER) {
+            peeked = null;
+        } else {
+            throw syntaxError("Expected a number but was " + token);
+        }
+        return parseLong();
+    }
+
+    /**
+     * @return Next value as an int. Numeric strings are accepted
+     */
+    public int nextInt() throws MinecraftItaliaException {
+        long value = nextLong();
+        if(value != (int) value) throw syntaxError("Number out of int range: " + value);
+        return (int) value;
+    }
+
+    /**
+     * @return Next value as a double. Numeric strings are accepted
+     */
+    public double nextDouble() throws MinecraftItaliaException {
+        String value = nextString();
+        try {
+            return Double.parseDouble(value);
+        } catch(NullPointerException | NumberFormatException e) {
+            throw syntaxError("Expected a number but was " + value);
+        }
+    }
+
+    /**
+     * @return Next value as a boolean. Numbers and strings are <tt>true</tt> if they are equal to 1 or <tt>true</tt>
+     */
+    public boolean nextBoolean() throws MinecraftItaliaException {
+        Token token = peek();
+        if(token == Token.BOOLEAN) {
+            peeked = null;
+            return booleanValue;
+        }
+        String value = nextString();
+        return "1".equals(value) || "true".equals(value);
+    }
+
+    /**
+     * Consumes a <tt>null</tt> value
+     */
+    public void nextNull() throws MinecraftItaliaException {
+        expect(Token.NULL);
+    }
+
+    /**
+     * Reads an array of numbers
+     * @return Numbers of the array
+     */
+    public long[] nextLongArray() throws MinecraftItaliaException {
+        long[] values = new long[8];
+        int size = 0;
+        beginArray();
+        while(hasNext()) {
+            if(size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = nextLong();
+        }
+        endArray();
+        return size == values.length ? values : Arrays.copyOf(values, size);
+    }
+
+    /**
+     * Skips the next value, including nested objects and arrays
+     */
+    public void skipValue() throws MinecraftItaliaException {
+        int depth = 0;
+        do {
+            Token token = peek();
+            peeked = null;
+            switch(token) {
+                case BEGIN_OBJECT:
+                    push(EMPTY_OBJECT);
+                    depth++;
+                    break;
+                case BEGIN_ARRAY:
+                    push(EMPTY_ARRAY);
+                    depth++;
+                    break;
+                case END_OBJECT:
+                case END_ARRAY:
+                    stackSize--;
+                    depth--;
+                    break;
+                case NAME:
+                case STRING:
+                    skipString();
+                    break;
+                case END_DOCUMENT:
+                    throw syntaxError("Unexpected end of document");
+                default:
+                    break;
+            }
+        } while(depth > 0);
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private void expect(Token expected) throws MinecraftItaliaException {
+        Token token = peek();
+        if(token != expected) throw syntaxError("Expected " + expected + " but was " + token);
+        peeked = null;
+    }
+
+    private void push(int scope) {
+        if(stackSize == stack.length) stack = Arrays.copyOf(stack, stackSize * 2);
+        stack[stackSize++] = scope;
+    }
+
+    private Token doPeek() throws MinecraftItaliaException {
+        int scope = stack[stackSize - 1];
+        int c;
+        switch(scope) {
+            case EMPTY_ARRAY:
+                stack[stackSize - 1] = NONEMPTY_ARRAY;
+                c = nextNonWhitespace();
+                if(c == ']') return Token.END_ARRAY;
+                pos--;
+                break;
+            case NONEMPTY_ARRAY:
+                c = nextNonWhitespace();
+                if(c == ']') return Token.END_ARRAY;
+                if(c != ',') throw syntaxError("Unterminated array");
+                break;
+            case EMPTY_OBJECT:
+            case NONEMPTY_OBJECT:
+                stack[stackSize - 1] = DANGLING_NAME;
+                c = nextNonWhitespace();
+                if(c == '}') return Token.END_OBJECT;
+                if(scope == NONEMPTY_OBJECT) {
+                    if(c != ',') throw syntaxError("Unterminated object");
+                    c = nextNonWhitespace();
+                }
+                if(c != '"') throw syntaxError("Expected a name");
+                return Token.NAME;
+            case DANGLING_NAME:
+                stack[stackSize - 1] = NONEMPTY_OBJECT;
+                if(nextNonWhitespace() != ':') throw syntaxError("Expected ':'");
+                break;
+            case EMPTY_DOCUMENT:
+                stack[stackSize - 1] = NONEMPTY_DOCUMENT;
+                break;
+            default:
+                if(nextNonWhitespaceOrEnd() == -1) return Token.END_DOCUMENT;
+                throw syntaxError("Trailing content after the document");
+        }
+
+        c = nextNonWhitespace();
+        switch(c) {
+            case '{':
+                return Token.BEGIN_OBJECT;
+            case '[':
+                return Token.BEGIN_ARRAY;
+            case '"':
+                return Token.STRING;
+            case 't':
+                readLiteral("rue");
+                booleanValue = true;
+                return Token.BOOLEAN;
+            case 'f':
+                readLiteral("alse");
+                booleanValue = false;
+                return Token.BOOLEAN;
+            case 'n':
+                readLiteral("ull");
+                return Token.NULL;
+            default:
+                if(c == '-' || (c >= '0' && c <= '9')) {
+                    pos--;
+                    readNumber();
+                    return Token.NUMBER;
+                }
+                throw syntaxError("Unexpected character '" + (char) c + "'");
+        }
+    }
+
+    private void readLiteral(String rest) throws MinecraftItaliaException {
+        for(int i = 0; i < rest.length(); i++) {
+            if(nextByte() != rest.charAt(i)) throw syntaxError("Invalid literal");
+        }
+    }
+
+    /**
+     * Copies the characters of a number into {@link #chars}
+     */
+    private void readNumber() throws MinecraftItaliaException {
+        charsLength = 0;
+        while(true) {
+            if(pos == limit && !fill()) break;
+            byte b = buffer[pos];
+            if((b >= '0' && b <= '9') || b == '-' || b == '+' || b == '.' || b == 'e' || b == 'E') {
+                appendChar((char) b);
+                pos++;
+            } else {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Parses {@link #chars} as a long, without creating a string if it only contains digits
+     */
+    private long parseLong() throws MinecraftItaliaException {
+        int i = 0;
+        boolean negative = charsLength > 0 && chars[0] == '-';
+        if(negative) i++;
+        if(i == charsLength) throw syntaxError("Expected a number");
+        long value = 0;
+        for(; i < charsLength; i++) {
+            char c = chars[i];
+            if(c < '0' || c > '9' || value < -(Long.MAX_VALUE / 10)) {
+                // Decimals, exponents or overflows
+                try {
+                    double parsed = Double.parseDouble(new String(chars, 0, charsLength));
+                    if(parsed != (long) parsed) throw syntaxError("Expected a long but was " + parsed);
+                    return (long) parsed;
+                } catch(NumberFormatException e) {
+                    throw syntaxError("Expected a number but was " + new String(chars, 0, charsLength));
+                }
+            }
+            value = value * 10 - (c - '0');
+        }
+        return negative ? value : -value;
+    }
+
+    /**
+     * Decodes the UTF-8 string after the opening quote into {@link #chars}
+     */
+    private void readString() throws MinecraftItaliaException {
+        charsLength = 0;
+        while(true) {
+            int b = nextByte();
+            if(b == '"') return;
+            if(b == '\\') {
+                readEscape();
+            } else if(b < 0x80) {
+                appendChar((char) b);
+            } else if((b & 0xE0) == 0xC0) {
+                appendChar((char) (((b & 0x1F) << 6) | continuation()));
+            } else if((b & 0xF0) == 0xE0) {
+                appendChar((char) (((b & 0x0F) << 12) | (continuation() << 6) | continuation()));
+            } else if((b & 0xF8) == 0xF0) {
+                int codePoint = ((b & 0x07) << 18) | (continuation() << 12) | (continuation() << 6) | continuation();
+                appendChar(Character.highSurrogate(codePoint));
+                appendChar(Character.lowSurrogate(codePoint));
+            } else {
+                throw syntaxError("Invalid UTF-8 byte");
+            }
+        }
+    }
+
+    private int continuation() throws MinecraftItaliaException {
+        int b = nextByte();
+        if((b & 0xC0) != 0x80) throw syntaxError("Invalid UTF-8 sequence");
+        return b & 0x3F;
+    }
+
+    private void readEscape() throws MinecraftItaliaException {
+        int c = nextByte();
+        switch(c) {
+            case 'b': appendChar('\b'); break;
+            case 'f': appendChar('\f'); break;
+            case 'n': appendChar('\n'); break;
+            case 'r': appendChar('\r'); break;
+            case 't': appendChar('\t'); break;
+            case 'u':
+                int value = 0;
+                for(int i = 0; i < 4; i++) {
+                    int digit = Character.digit(nextByte(), 16);
+                    if(digit < 0) throw syntaxError("Invalid unicode escape");
+                    value = (value << 4) | digit;
+                }
+                appendChar((char) value);
+                break;
+            default:
+                appendChar((char) c);
+        }
+    }
+
+    private void skipString() throws MinecraftItaliaException {
+        while(true) {
+            int b = nextByte();
+            if(b == '"') return;
+            if(b == '\\') nextByte();
+        }
+    }
+
+    private void appendChar(char c) {
+        if(charsLength == chars.length) chars = Arrays.copyOf(chars, charsLength * 2);
+        chars[charsLength++] = c;
+    }
+
+    private int nextNonWhitespace() throws MinecraftItaliaException {
+        int c = nextNonWhitespaceOrEnd();
+        if(c == -1) throw syntaxError("Unexpected end of document");
+        return c;
+    }
+
+    private int nextNonWhitespaceOrEnd() throws MinecraftItaliaException {
+        while(pos < limit || fill()) {
+            int c = buffer[pos++] & 0xFF;
+            if(c != ' ' && c != '\n' && c != '\r' && c != '\t') return c;
+        }
+        return -1;
+    }
+
+    private int nextByte() throws MinecraftItaliaException {
+        if(pos == limit && !fill()) throw syntaxError("Unexpected end of document");
+        return buffer[pos++] & 0xFF;
+    }
+
+    private boolean fill() throws MinecraftItaliaException {
+        try {
+            int read = in.read(buffer, 0, buffer.length);
+            if(read <= 0) return false;
+            pos = 0;
+            limit = read;
+            return true;
+        } catch(IOException e) {
+            throw new MinecraftItaliaException("Could not read JSON: " + e.getMessage(), e);
+        }
+    }
+
+    private MinecraftItaliaException syntaxError(String message) {
+        return new MinecraftItaliaException("Malformed JSON: " + message);
+    }
+}
@@ -0,0 +1,24 @@
+package eu.iamgio.mcitaliaapi.exception;
+
+/**
+ * Thrown without performing a request when too many requests to the same host failed recently
+ * @author Gio
+ */
+public class CircuitOpenException extends MinecraftItaliaException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String host;
+
+    public CircuitOpenException(String host) {
+        super("Requests to " + host + " are suspended after repeated failures.");
+        this.host = host;
+    }
+
+    /**
+     * @return Host whose requests are suspended
+     */
+    public String getHost() {
+        return host;
+    }
+}
@@ -0,0 +1,33 @@
+package eu.iamgio.mcitaliaapi.exception;
+
+/**
+ * Thrown when the server answers with an error status code
+ * @author Gio
+ */
+public class HttpStatusException extends MinecraftItaliaException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String url;
+    private final int statusCode;
+
+    public HttpStatusException(String url, int statusCode) {
+        super("Server returned HTTP status " + statusCode + " for " + url);
+        this.url = url;
+        this.statusCode = statusCode;
+    }
+
+    /**
+     * @return Requested URL
+     */
+    public String getUrl() {
+        return url;
+    }
+
+    /**
+     * @return HTTP status code
+     */
+    public int getStatusCode() {
+        return statusCode;
+    }
+}
@@ -9,4 +9,8 @@ public class MinecraftItaliaException extends RuntimeException {
     public MinecraftItaliaException(String message) {
         super(message);
     }
+
+    public MinecraftItaliaException(String message, Throwable cause) {
+        super(message, cause);
+    }
 }
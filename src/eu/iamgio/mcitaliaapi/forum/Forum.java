@@ -1,30 +1,43 @@
 package eu.iamgio.mcitaliaapi.forum;
 
 import eu.iamgio.mcitaliaapi.connection.HttpConnection;
-import eu.iamgio.mcitaliaapi.connection.json.JSONParser;
+import eu.iamgio.mcitaliaapi.connection.Urls;
+import eu.iamgio.mcitaliaapi.connection.Validators;
+import eu.iamgio.mcitaliaapi.connection.json.JsonReader;
+import eu.iamgio.mcitaliaapi.exception.MinecraftItaliaException;
+import eu.iamgio.mcitaliaapi.metrics.Metrics;
 import eu.iamgio.mcitaliaapi.user.UnparsedUser;
+import eu.iamgio.mcitaliaapi.util.Async;
 import eu.iamgio.mcitaliaapi.util.Pair;
 import eu.iamgio.mcitaliaapi.util.Utils;
-import org.json.simple.JSONArray;
-import org.json.simple.JSONObject;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
 import org.jsoup.select.Elements;
 
 import java.util.ArrayList;
-import java.util.Date;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
- * Represents the forum
+ * Represents the forum.
+ * Its page is parsed once per {@link #update()}, so that no DOM is retained
  * @author Gio
  */
 public class Forum {
 
-    public static String FORUM_URL = "https://www.minecraft-italia.it/forum/";
+    /**
+     * URL of the forum, updated by {@link Urls#setBaseUrl(String)}
+     */
+    public static String FORUM_URL = Urls.of("/forum/");
 
-    private Document document;
+    private List<ForumSectionContainer> sectionContainers;
+    private Integer totalUsersCount, totalTopicsCount, totalMessagesCount;
+    private List<UnparsedUser> onlineUsers;
+    private Integer onlineUsersCount, todayOnlineUsersCount;
+    private List<Pair<UnparsedUser, Integer>> todaysBirthdays;
+    private UnparsedUser newestUser;
 
+    private Validators validators;
     private static Forum instance;
 
     private Forum() {
@@ -40,16 +53,21 @@ public class Forum {
     }
 
     /**
-     * Updates connection
+     * @return Future of {@link #getForum()}
      */
-    public void update() {
-        this.document = new HttpConnection(Forum.FORUM_URL).connect().get();
+    public static CompletableFuture<Forum> getForumAsync() {
+        return Async.supply(Forum::getForum);
     }
 
     /**
-     * @return Section containers
+     * Updates data. The page is downloaded and parsed again only if it changed since the last update
+     * @return <tt>true</tt> if the page changed
      */
-    public List<ForumSectionContainer> getSectionContainers() {
+    public boolean update() {
+        HttpConnection connection = new HttpConnection(Forum.FORUM_URL).connect();
+        Document document = connection.getIfModified(validators);
+        if(document == null) return false;
+        long start = System.nanoTime();
         List<ForumSectionContainer> containers = new ArrayList<>();
         Elements containersElements = document.getElementsByClass("forum-section-title forumbit-head-seaction-title");
         for(int i = 0; i < containersElements.size() - 1; i++) {
@@ -60,94 +78,123 @@ public class Forum {
             Element div = containerElement.parent().parent();
             containers.add(new ForumSectionContainer(name, url, div));
         }
-        return containers;
+        this.sectionContainers = containers;
+
+        Element numbers = document.getElementsByClass("row_numbers").first();
+        this.totalUsersCount = Utils.tryExtract(() -> Integer.parseInt(numbers.child(0).ownText().replace(".", "")));
+        this.totalTopicsCount = Utils.tryExtract(() -> Integer.parseInt(numbers.child(1).ownText().replace(".", "")));
+        this.totalMessagesCount = Utils.tryExtract(() -> Integer.parseInt(numbers.child(2).ownText().replace(".", "")));
+
+        Elements stats = Utils.tryExtract(() -> document.getElementById("boardstats_e").getElementsByClass("trow1"));
+        this.onlineUsers = Utils.tryExtract(() -> {
+            List<UnparsedUser> users = new ArrayList<>();
+            for(Element userElement : stats.first().getElementsByClass("username-inner")) {
+                users.add(UnparsedUser.of(userElement.ownText()));
+            }
+            return users;
+        });
+        this.onlineUsersCount = Utils.tryExtract(() -> Integer.parseInt(stats.first().ownText().split(" ")[0]));
+        this.todayOnlineUsersCount = Utils.tryExtract(() -> Integer.parseInt(stats.get(1).ownText().split(" ")[0]));
+        this.todaysBirthdays = Utils.tryExtract(() -> {
+            List<Pair<UnparsedUser, Integer>> birthdays = new ArrayList<>();
+            for(String part : stats.get(2).text().split(", ")) {
+                String[] subparts = part.split(" ");
+                birthdays.add(new Pair<>(UnparsedUser.of(subparts[0]), Integer.parseInt(subparts[1].substring(1, subparts[1].length() - 1))));
+            }
+            return birthdays;
+        });
+        this.newestUser = Utils.tryExtract(() -> UnparsedUser.of(stats.get(3).getElementsByTag("a").first().ownText()));
+        Metrics.recordParse(Forum.class, start);
+        // Stored last, so that a page that failed to parse is not skipped as unchanged by the next update
+        this.validators = connection.getValidators();
+        return true;
+    }
+
+    /**
+     * @return Section containers
+     */
+    public List<ForumSectionContainer> getSectionContainers() {
+        return new ArrayList<>(sectionContainers);
     }
 
     /**
      * @return Last 30 topics
      */
     public List<LastTopic> getLastTopics() {
-        JSONObject object = new JSONParser("https://www.minecraft-italia.it/api/new_topics").parse();
-        List<LastTopic> lastTopics = new ArrayList<>();
-        for(Object topicObj : (JSONArray) object.get("topics")) {
-            JSONObject topicJson = (JSONObject) topicObj;
-            String name = topicJson.get("thread_subject").toString();
-            String url = topicJson.get("thread_url").toString();
-            String firstMessageText = topicJson.get("thread_message").toString();
-            UnparsedUser author = new UnparsedUser(topicJson.get("author_name").toString());
-            long id = (long) topicJson.get("thread_id");
-            long authorUid = (long) topicJson.get("author_uid");
-            ForumSubSection section = new ForumSubSection(topicJson.get("forum_name").toString(), topicJson.get("forum_url").toString());
-            Date date = Utils.getDateByTimestamp(topicJson.get("date_timestamp").toString());
-            lastTopics.add(new LastTopic(name, url, firstMessageText, author, id, authorUid, section, date));
-        }
-        return lastTopics;
+        return LastTopic.readTopics(JsonReader.fromUrl(Urls.of("/api/new_topics")), Long.MIN_VALUE);
+    }
+
+    /**
+     * @return Future of {@link #getLastTopics()}
+     */
+    public CompletableFuture<List<LastTopic>> getLastTopicsAsync() {
+        return Async.supply(this::getLastTopics);
     }
 
     /**
      * @return Total registered users
      */
     public int getTotalUsersCount() {
-        return Integer.parseInt(document.getElementsByClass("row_numbers").first().child(0).ownText().replace(".", ""));
+        return require(totalUsersCount);
     }
 
     /**
      * @return Total topics opened
      */
     public int getTotalTopicsCount() {
-        return Integer.parseInt(document.getElementsByClass("row_numbers").first().child(1).ownText().replace(".", ""));
+        return require(totalTopicsCount);
     }
 
     /**
      * @return Total messages sent
      */
     public int getTotalMessagesCount() {
-        return Integer.parseInt(document.getElementsByClass("row_numbers").first().child(2).ownText().replace(".", ""));
+        return require(totalMessagesCount);
     }
 
     /**
      * @return First 50 online users
      */
     public List<UnparsedUser> getOnlineUsers() {
-        List<UnparsedUser> users = new ArrayList<>();
-        Element div = document.getElementById("boardstats_e").getElementsByClass("trow1").first();
-        for(Element userElement : div.getElementsByClass("username-inner")) {
-            users.add(new UnparsedUser(userElement.ownText()));
-        }
-        return users;
+        return new ArrayList<>(require(onlineUsers));
     }
 
     /**
      * @return Online users count
      */
     public int getOnlineUsersCount() {
-        return Integer.parseInt(document.getElementById("boardstats_e").getElementsByClass("trow1").first().ownText().split(" ")[0]);
+        return require(onlineUsersCount);
     }
 
     /**
      * @return Today's online users count
      */
     public int getTodayOnlineUsersCount() {
-        return Integer.parseInt(document.getElementById("boardstats_e").getElementsByClass("trow1").get(1).ownText().split(" ")[0]);
+        return require(todayOnlineUsersCount);
     }
 
     /**
      * @return Today's birthdays as [user, age]
      */
     public List<Pair<UnparsedUser, Integer>> getTodaysBirthdays() {
-        List<Pair<UnparsedUser, Integer>> birthdays = new ArrayList<>();
-        String raw = document.getElementById("boardstats_e").getElementsByClass("trow1").get(2).text();
-        for(String part : raw.split(", ")) {
-            String[] subparts = part.split(" ");
-            birthdays.add(new Pair<>(new UnparsedUser(subparts[0]), Integer.parseInt(subparts[1].substring(1, subparts[1].length() - 1))));
-        }
-        return birthdays;
+        return new ArrayList<>(require(todaysBirthdays));
     }
 
     /**
      * @return Newest registered user
      */
     public UnparsedUser getNewestUser() {
-        return new UnparsedUser(document.getElementById("boardstats_e").getElementsByClass("trow1").get(3).getElementsByTag("a").first().ownText());
+        return require(newestUser);
+    }
+
+    /**
+     * @param field Field extracted from the forum page
+     * @param <T> Field type
+     * @return The field
+     * @throws MinecraftItaliaException if the field could not be found in the page
+     */
+    private static <T> T require(T field) throws MinecraftItaliaException {
+        if(field == null) throw new MinecraftItaliaException("Could not find the requested data in the forum page.");
+        return field;
     }
 }
@@ -0,0 +1,152 @@
+package eu.iamgio.mcitaliaapi.forum;
+
+import eu.iamgio.mcitaliaapi.connection.HttpConnection;
+import eu.iamgio.mcitaliaapi.connection.RetryPolicy;
+import eu.iamgio.mcitaliaapi.util.Async;
+import eu.iamgio.mcitaliaapi.util.ParallelPageIterator;
+import eu.iamgio.mcitaliaapi.util.RateLimiter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Crawls every page of forum sections concurrently, with a limited amount of workers and requests per second.
+ * Failed requests are retried according to the {@link RetryPolicy} of {@link HttpConnection}, and are not retried
+ * while the circuit breaker of the host is open. Topics are streamed section by section, in page order
+ * @author Gio
+ */
+public class ForumCrawler {
+
+    private int workers = 4;
+    private Executor executor;
+    private RateLimiter rateLimiter;
+
+    /**
+     * @param workers Max amount of pages fetched at the same time. Default: 4
+     * @return This for concatenating
+     */
+    public ForumCrawler workers(int workers) {
+        if(workers <= 0) throw new IllegalArgumentException("Invalid amount of workers");
+        this.workers = workers;
+        return this;
+    }
+
+    /**
+     * @param executor Executor pages are fetched on. Default: {@link Async#getExecutor()}
+     * @return This for concatenating
+     */
+    public ForumCrawler executor(Executor executor) {
+        this.executor = executor;
+        return this;
+    }
+
+    /**
+     * @param requestsPerSecond Max amount of requests per second. Default: unlimited
+     * @return This for concatenating
+     */
+    public ForumCrawler rateLimit(double requestsPerSecond) {
+        this.rateLimiter = new RateLimiter(requestsPerSecond);
+        return this;
+    }
+
+    /**
+     * @param section Section to crawl
+     * @return Topics of every page of the section
+     */
+    public Stream<ListedTopic> crawl(ForumSubSection section) {
+        return crawl(Collections.singletonList(section));
+    }
+
+    /**
+     * @param container Container whose sections are crawled
+     * @param includeSubsections Whether the subsections of each section should be crawled too
+     * @return Topics of every page of the sections
+     */
+    public Stream<ListedTopic> crawl(ForumSectionContainer container, boolean includeSubsections) {
+        List<ForumSubSection> sections = new ArrayList<>();
+        for(ForumSection section : container.getSections()) {
+            sections.add(section);
+            if(includeSubsections) sections.addAll(section.getSubsections());
+        }
+        return crawl(sections);
+    }
+
+    /**
+     * @param sections Sections to crawl
+     * @return Topics of every page of the sections
+     */
+    public Stream<ListedTopic> crawl(List<? extends ForumSubSection> sections) {
+        Iterator<ListedTopic> iterator = new CrawlIterator(new ArrayList<>(sections));
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    private Executor getExecutor() {
+        return executor == null ? Async.getExecutor() : executor;
+    }
+
+    /**
+     * Runs a request, honoring the rate limit. Retries are left to the {@link RetryPolicy} of the connection,
+     * so that they do not stack with another retry loop
+     * @param request Request
+     * @param <T> Result type
+     * @return Result of the request
+     */
+    private <T> T request(Supplier<T> request) {
+        if(rateLimiter != null) rateLimiter.acquire();
+        return request.get();
+    }
+
+    /**
+     * Loads the first page of every section concurrently to find out its amount of pages,
+     * then fetches the pages of every section in a single window, so that small sections do not limit concurrency
+     */
+    private class CrawlIterator implements Iterator<ListedTopic> {
+
+        private final List<ForumSubSection> sections;
+        private Iterator<ListedTopic> pages;
+
+        private CrawlIterator(List<ForumSubSection> sections) {
+            this.sections = sections;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if(pages == null) pages = createPagesIterator();
+            return pages.hasNext();
+        }
+
+        @Override
+        public ListedTopic next() {
+            if(pages == null) pages = createPagesIterator();
+            return pages.next();
+        }
+
+        private Iterator<ListedTopic> createPagesIterator() {
+            Iterator<Integer> counts = new ParallelPageIterator<>(i -> Collections.singletonList(
+                    request(() -> sections.get(i).getPagesCountOrOne())
+            ), 0, sections.size(), workers, getExecutor());
+            // Maps the index of each page in the window to its section
+            List<ForumSubSection> pageSections = new ArrayList<>();
+            List<Integer> pageNumbers = new ArrayList<>();
+            for(ForumSubSection section : sections) {
+                int pagesCount = counts.next();
+                for(int page = 0; page < pagesCount; page++) {
+                    pageSections.add(section);
+                    pageNumbers.add(page);
+                }
+            }
+            return new ParallelPageIterator<>(
+                    i -> request(() -> pageSections.get(i).getTopics(pageNumbers.get(i))),
+                    0, pageSections.size(), workers, getExecutor()
+            );
+        }
+    }
+}
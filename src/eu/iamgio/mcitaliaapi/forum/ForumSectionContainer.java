@@ -1,5 +1,7 @@
 package eu.iamgio.mcitaliaapi.forum;
 
+import eu.iamgio.mcitaliaapi.exception.MinecraftItaliaException;
+import eu.iamgio.mcitaliaapi.metrics.Profiler;
 import eu.iamgio.mcitaliaapi.user.UnparsedUser;
 import org.jsoup.nodes.Element;
 
@@ -13,14 +15,23 @@ import java.util.List;
 public class ForumSectionContainer {
 
     private String name, url;
-    private Element div;
 
     private List<ForumSection> sections;
+    private RuntimeException parseError;
 
+    /**
+     * @param name Container name
+     * @param url Container URL
+     * @param div Element of the container. Its sections are parsed immediately and the element is not retained
+     */
     ForumSectionContainer(String name, String url, Element div) {
         this.name = name;
         this.url = url;
-        this.div = div;
+        try {
+            this.sections = parseSections(div);
+        } catch(RuntimeException e) {
+            this.parseError = e;
+        }
     }
 
     /**
@@ -39,9 +50,20 @@ public class ForumSectionContainer {
 
     /**
      * @return Forum sections
+     * @throws MinecraftItaliaException if the sections could not be parsed
      */
-    public List<ForumSection> getSections() {
-        if(sections == null) {
+    public List<ForumSection> getSections() throws MinecraftItaliaException {
+        if(sections == null) throw new MinecraftItaliaException("Could not parse the sections of " + name + ".", parseError);
+        return sections;
+    }
+
+    /**
+     * @param div Element of the container
+     * @return Sections inside of the container
+     */
+    private static List<ForumSection> parseSections(Element div) {
+        Profiler.Probe probe = Profiler.start("ForumSectionContainer.getSections");
+        try {
             List<ForumSection> sections = new ArrayList<>();
             for(Element row : div.getElementsByClass("forumbit-row")) {
                 String name = row.getElementsByTag("strong").first().text();
@@ -55,7 +77,7 @@ public class ForumSectionContainer {
                 int viewingNowCount = viewerElement == null ? 0 : Integer.parseInt(viewerElement.getElementsByClass("num").first().text().replace(",", ""));
                 Element lastPostRow = row.getElementsByClass("forumbit-lastpost").first();
                 String lastPostTitle = lastPostRow.getElementsByClass("topic-link").first().text();
-                UnparsedUser lastPostUser = new UnparsedUser(lastPostRow.getElementsByClass("last-post-author").text());
+                UnparsedUser lastPostUser = UnparsedUser.of(lastPostRow.getElementsByClass("last-post-author").text());
                 Element clamp = lastPostRow.getElementsByClass("clamp").first();
                 String rawLastPostDate = clamp.getElementsByTag("span").attr("title") + clamp.ownText();
                 List<ForumSubSection> subsections = new ArrayList<>();
@@ -65,8 +87,9 @@ public class ForumSectionContainer {
                 }
                 sections.add(new ForumSection(name, url, description, imageUrl, discussionsCount, messagesCount, viewingNowCount, lastPostTitle, lastPostUser, subsections));
             }
-            this.sections = sections;
+            return sections;
+        } finally {
+            probe.stop();
         }
-        return sections;
     }
 }
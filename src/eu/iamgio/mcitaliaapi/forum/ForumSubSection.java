@@ -1,13 +1,20 @@
 package eu.iamgio.mcitaliaapi.forum;
 
 import eu.iamgio.mcitaliaapi.connection.HttpConnection;
+import eu.iamgio.mcitaliaapi.exception.MinecraftItaliaException;
+import eu.iamgio.mcitaliaapi.metrics.Metrics;
+import eu.iamgio.mcitaliaapi.util.Async;
+import eu.iamgio.mcitaliaapi.util.Utils;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
+ * Represents a forum section, loaded when its data is first requested.
+ * Its first page is parsed once per {@link #update()}, so that no DOM is retained
  * @author Gio
  */
 public class ForumSubSection {
@@ -15,7 +22,9 @@ public class ForumSubSection {
     private String name, url;
     private int fid;
 
-    private Document document;
+    private boolean loaded;
+    private Integer pagesCount;
+    private List<ListedTopic> topics;
 
     ForumSubSection(String name, String url) {
         this.name = name;
@@ -23,10 +32,20 @@ public class ForumSubSection {
     }
 
     /**
-     * Updates document
+     * Updates data
+     * @throws MinecraftItaliaException if the topics could not be parsed
      */
-    public void update() {
-        this.document = new HttpConnection(url).connect().get();
+    public void update() throws MinecraftItaliaException {
+        Document document = new HttpConnection(url).connect().get();
+        Integer fid = Utils.tryExtract(() -> Integer.parseInt(document.select("input[name=fid]").attr("value")));
+        this.fid = fid == null ? 0 : fid;
+        this.pagesCount = Pagination.parsePagesCount(document);
+        try {
+            this.topics = parseTopics(document);
+        } catch(RuntimeException e) {
+            throw new MinecraftItaliaException("Could not parse the topics of " + name + ".", e);
+        }
+        this.loaded = true;
     }
 
     /**
@@ -45,20 +64,29 @@ public class ForumSubSection {
 
     /**
      * @return Amount of pages
+     * @throws MinecraftItaliaException if the section has no pagination
+     */
+    public int getPagesCount() throws MinecraftItaliaException {
+        if(!loaded) update();
+        if(pagesCount == null) throw new MinecraftItaliaException("Could not find the amount of pages of " + name + ".");
+        return pagesCount;
+    }
+
+    /**
+     * @return Amount of pages, or 1 if the section has no pagination
      */
-    public int getPagesCount() {
-        if(document == null) update();
-        return Integer.parseInt(document.getElementsByClass("pagination_last").first().ownText());
+    int getPagesCountOrOne() {
+        if(!loaded) update();
+        return pagesCount == null ? 1 : pagesCount;
     }
 
     /**
      * @return ID of the section
+     * @throws MinecraftItaliaException if the ID could not be found
      */
-    public int getId() {
-        if(fid == 0) {
-            if(document == null) update();
-            fid = Integer.parseInt(document.select("input[name=fid]").attr("value"));
-        }
+    public int getId() throws MinecraftItaliaException {
+        if(!loaded) update();
+        if(fid == 0) throw new MinecraftItaliaException("Could not find the ID of " + name + ".");
         return fid;
     }
 
@@ -67,17 +95,32 @@ public class ForumSubSection {
      * @return Listed topics
      */
     public List<ListedTopic> getTopics(int page) {
-        Document document;
         if(page == 0) {
-            if(this.document == null) update();
-            document = this.document;
-        } else {
-            document = new HttpConnection(url + "?page=" + (page + 1)).connect().get();
+            if(!loaded) update();
+            if(topics != null) return new ArrayList<>(topics);
         }
+        return parseTopics(new HttpConnection(url + "?page=" + (page + 1)).connect().get());
+    }
+
+    /**
+     * @param document Page of the section
+     * @return Topics listed inside of the page
+     */
+    private List<ListedTopic> parseTopics(Document document) {
+        long start = System.nanoTime();
         List<ListedTopic> topics = new ArrayList<>();
         for(Element thread : document.getElementsByClass("thread")) {
             topics.add(ListedTopic.fromElement(thread, this));
         }
+        Metrics.recordParse(ListedTopic.class, start);
         return topics;
     }
+
+    /**
+     * @param page Page to get the topics in
+     * @return Future of {@link #getTopics(int)}
+     */
+    public CompletableFuture<List<ListedTopic>> getTopicsAsync(int page) {
+        return Async.supply(() -> getTopics(page));
+    }
 }
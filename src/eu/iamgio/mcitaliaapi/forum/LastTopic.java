@@ -1,8 +1,13 @@
 package eu.iamgio.mcitaliaapi.forum;
 
+import eu.iamgio.mcitaliaapi.connection.json.JsonReader;
+import eu.iamgio.mcitaliaapi.metrics.Metrics;
 import eu.iamgio.mcitaliaapi.user.UnparsedUser;
 
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Represents a topic inside of 'Last topics' list
@@ -27,6 +32,63 @@ public class LastTopic {
         this.date = date;
     }
 
+    /**
+     * Binds a topic object of the <tt>new_topics</tt> API
+     * @param reader Reader positioned at the object
+     * @param afterId Topics whose ID is not greater than this one are consumed but not created
+     * @return Parsed topic, or <tt>null</tt> if it is not after <tt>afterId</tt>
+     */
+    static LastTopic fromJson(JsonReader reader, long afterId) {
+        String name = null, url = null, firstMessageText = null, authorName = null, sectionName = null, sectionUrl = null;
+        long id = 0, authorUid = 0;
+        Date date = null;
+        reader.beginObject();
+        while(reader.hasNext()) {
+            switch(reader.nextName()) {
+                case "thread_subject": name = reader.nextString(); break;
+                case "thread_url": url = reader.nextString(); break;
+                case "thread_message": firstMessageText = reader.nextString(); break;
+                case "author_name": authorName = reader.nextString(); break;
+                case "thread_id": id = reader.nextLong(); break;
+                case "author_uid": authorUid = reader.nextLong(); break;
+                case "forum_name": sectionName = reader.nextString(); break;
+                case "forum_url": sectionUrl = reader.nextString(); break;
+                case "date_timestamp": date = new Date(reader.nextLong() * 1000); break;
+                default: reader.skipValue();
+            }
+        }
+        reader.endObject();
+        if(id <= afterId) return null;
+        return new LastTopic(name, url, firstMessageText, UnparsedUser.of(authorName), id, authorUid, new ForumSubSection(sectionName, sectionUrl), date);
+    }
+
+    /**
+     * Reads the topics of the <tt>new_topics</tt> API
+     * @param reader Reader positioned at the response
+     * @param afterId Only topics whose ID is greater than this one are returned
+     * @return Topics, in the order of the response
+     */
+    static List<LastTopic> readTopics(JsonReader reader, long afterId) {
+        long start = System.nanoTime();
+        List<LastTopic> topics = new ArrayList<>();
+        reader.beginObject();
+        while(reader.hasNext()) {
+            if(!reader.nextName().equals("topics")) {
+                reader.skipValue();
+                continue;
+            }
+            reader.beginArray();
+            while(reader.hasNext()) {
+                LastTopic topic = fromJson(reader, afterId);
+                if(topic != null) topics.add(topic);
+            }
+            reader.endArray();
+        }
+        reader.endObject();
+        Metrics.recordParse(LastTopic.class, start);
+        return topics;
+    }
+
     /**
      * @return Topic name
      */
@@ -97,4 +159,11 @@ public class LastTopic {
     public Topic toTopic(int page) {
         return Topic.fromUrl(url, page);
     }
+
+    /**
+     * @return Future of {@link #toTopic()}
+     */
+    public CompletableFuture<Topic> toTopicAsync() {
+        return Topic.fromUrlAsync(url);
+    }
 }
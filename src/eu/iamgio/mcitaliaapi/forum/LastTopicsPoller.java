@@ -0,0 +1,194 @@
+package eu.iamgio.mcitaliaapi.forum;
+
+import eu.iamgio.mcitaliaapi.connection.Session;
+import eu.iamgio.mcitaliaapi.connection.Urls;
+import eu.iamgio.mcitaliaapi.connection.json.JsonReader;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Polls the last topics of the forum and notifies listeners about the new ones.
+ * Only topics with an ID greater than the highest one already seen are parsed.
+ * The interval between polls is doubled, up to a maximum, every time no new topics are found,
+ * and reset as soon as a new topic is found.
+ * The first poll only records the last topic, unless {@link #setLastSeenId(long)} is used
+ * @author Gio
+ */
+public class LastTopicsPoller {
+
+    private static final Logger LOGGER = Logger.getLogger(LastTopicsPoller.class.getName());
+
+    private final long interval, maxInterval;
+    private final List<NewTopicListener> listeners = new CopyOnWriteArrayList<>();
+    private final Session session;
+
+    private volatile long lastSeenId = -1;
+    private volatile long currentInterval;
+    private volatile Consumer<RuntimeException> errorHandler = e -> LOGGER.log(Level.WARNING, "Last topics poll failed", e);
+
+    private final Object pollLock = new Object();
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * @param interval Time in millis between two polls
+     * @param maxInterval Max time in millis between two polls while no new topics are found
+     */
+    public LastTopicsPoller(long interval, long maxInterval) {
+        if(interval <= 0 || maxInterval < interval) throw new IllegalArgumentException("Invalid poller intervals");
+        this.interval = interval;
+        this.maxInterval = maxInterval;
+        this.currentInterval = interval;
+        this.session = Session.current();
+    }
+
+    /**
+     * Creates a poller that polls every 5 seconds, and up to every minute while no new topics are found
+     */
+    public LastTopicsPoller() {
+        this(5000, 60000);
+    }
+
+    /**
+     * Registers a listener
+     * @param listener Listener
+     * @return This for concatenating
+     */
+    public LastTopicsPoller addListener(NewTopicListener listener) {
+        listeners.add(listener);
+        return this;
+    }
+
+    /**
+     * Unregisters a listener
+     * @param listener Listener
+     */
+    public void removeListener(NewTopicListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Sets the handler of the failures of background polls and of the exceptions thrown by listeners.
+     * By default they are logged
+     * @param errorHandler Error handler
+     * @return This for concatenating
+     */
+    public LastTopicsPoller setErrorHandler(Consumer<RuntimeException> errorHandler) {
+        this.errorHandler = errorHandler;
+        return this;
+    }
+
+    /**
+     * @return ID of the newest topic seen so far. <tt>-1</tt> if nothing was polled yet
+     */
+    public long getLastSeenId() {
+        return lastSeenId;
+    }
+
+    /**
+     * Sets the ID of the newest topic already seen, so that every newer topic is notified by the next poll
+     * @param lastSeenId Topic ID
+     * @return This for concatenating
+     */
+    public LastTopicsPoller setLastSeenId(long lastSeenId) {
+        this.lastSeenId = lastSeenId;
+        return this;
+    }
+
+    /**
+     * @return Time in millis before the next scheduled poll
+     */
+    public long getCurrentInterval() {
+        return currentInterval;
+    }
+
+    /**
+     * Starts polling in background. Listeners are called from the polling thread
+     * @return This for concatenating
+     */
+    public synchronized LastTopicsPoller start() {
+        if(scheduler == null) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "mcitaliaapi-last-topics-poller");
+                thread.setDaemon(true);
+                return thread;
+            });
+            ScheduledExecutorService scheduler = this.scheduler;
+            scheduler.execute(() -> scheduledPoll(scheduler));
+        }
+        return this;
+    }
+
+    /**
+     * Stops polling
+     */
+    public synchronized void stop() {
+        if(scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * @return <tt>true</tt> if the poller is running
+     */
+    public synchronized boolean isRunning() {
+        return scheduler != null;
+    }
+
+    /**
+     * Polls once and notifies the listeners. A listener throwing an exception does not prevent the others from being notified:
+     * the exception is passed to the error handler
+     * @return New topics, from the oldest to the newest
+     */
+    public List<LastTopic> poll() {
+        synchronized(pollLock) {
+            return pollNewTopics();
+        }
+    }
+
+    private List<LastTopic> pollNewTopics() {
+        long lastSeenId = this.lastSeenId;
+        List<LastTopic> topics = LastTopic.readTopics(session.call(() -> JsonReader.fromUrl(Urls.of("/api/new_topics"))), lastSeenId);
+        long newestId = lastSeenId;
+        for(LastTopic topic : topics) {
+            if(topic.getId() > newestId) newestId = topic.getId();
+        }
+        this.lastSeenId = newestId;
+        // The first poll only sets the starting point
+        if(lastSeenId < 0) topics.clear();
+        topics.sort((t1, t2) -> Long.compare(t1.getId(), t2.getId()));
+        for(LastTopic topic : topics) {
+            NewTopicEvent event = new NewTopicEvent(topic, this);
+            for(NewTopicListener listener : listeners) {
+                try {
+                    listener.onNewTopic(event);
+                } catch(RuntimeException e) {
+                    errorHandler.accept(e);
+                }
+            }
+        }
+        return Collections.unmodifiableList(topics);
+    }
+
+    private void scheduledPoll(ScheduledExecutorService scheduler) {
+        boolean found = false;
+        try {
+            found = !poll().isEmpty();
+        } catch(RuntimeException e) {
+            errorHandler.accept(e);
+        }
+        currentInterval = found ? interval : Math.min(currentInterval * 2, maxInterval);
+        synchronized(this) {
+            // A stopped poller may have been started again with another scheduler meanwhile
+            if(this.scheduler == scheduler) scheduler.schedule(() -> scheduledPoll(scheduler), currentInterval, TimeUnit.MILLISECONDS);
+        }
+    }
+}
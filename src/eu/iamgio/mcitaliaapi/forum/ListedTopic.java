@@ -1,8 +1,11 @@
 package eu.iamgio.mcitaliaapi.forum;
 
+import eu.iamgio.mcitaliaapi.metrics.Profiler;
 import eu.iamgio.mcitaliaapi.user.UnparsedUser;
 import org.jsoup.nodes.Element;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Represents a topic listed inside of a forum section
  * @author Gio
@@ -34,55 +37,60 @@ public class ListedTopic {
     }
 
     static ListedTopic fromElement(Element element, ForumSubSection section) {
-        Element lastReplyElement = element.parent().getElementsByClass("thread-lastpost").first();
-        Element titleLink = null;
-        for(Element link : element.getElementsByTag("a")) {
-            if(link.hasText()) {
-                titleLink = link;
-                break;
+        Profiler.Probe probe = Profiler.start("ListedTopic.fromElement");
+        try {
+            Element lastReplyElement = element.parent().getElementsByClass("thread-lastpost").first();
+            Element titleLink = null;
+            for(Element link : element.getElementsByTag("a")) {
+                if(link.hasText()) {
+                    titleLink = link;
+                    break;
+                }
             }
-        }
-        assert titleLink != null;
-        String name = titleLink.text();
-        String url = Forum.FORUM_URL + titleLink.attr("href").replace("?action=newpost", "");
-        String iconUrl = element.getElementsByClass("thread-avatar").first().getElementsByTag("img").first().attr("src");
-        UnparsedUser author = new UnparsedUser(element.getElementsByClass("thread-author").first().text());
-        Element repliesElement = element.getElementsByClass("replies").first();
-        int repliesCount = repliesElement == null ? 0 : Integer.parseInt(repliesElement.getElementsByClass("num").first().text().replace(",", ""));
-        Element viewsElement = element.getElementsByClass("views").first();
-        int viewsCount = repliesElement == null ? 0 : Integer.parseInt(viewsElement.getElementsByClass("num").first().text().replace(",", ""));
-        String rawLastReplyDate = element.getElementsByClass("thread-lastpost-date").first().ownText();
-        Element lastReplyAuthorElement = lastReplyElement.getElementsByClass("load-user-box").first();
-        UnparsedUser lastReplyAuthor = lastReplyAuthorElement == null ? author : new UnparsedUser(lastReplyAuthorElement.text());
-        TopicPrefix prefix = null;
-        Element threadTitle = element.getElementsByClass("thread-title").first();
-        for(Element span : threadTitle.getElementsByTag("span")) {
-            if(!span.hasText() || !span.text().startsWith("[") || !span.hasAttr("style")) continue;
-            String prefixText = span.text();
-            String[] prefixStyleParts = span.attr("style").split(";");
-            String prefixColor = prefixStyleParts[0].substring("color: ".length(), prefixStyleParts[0].length());
-            prefix = new TopicPrefix(prefixText, prefixColor);
-        }
-        boolean announcement = false, pinned = false;
-        if(element.parent().className().equals("hidden-xs")) {
-            for(Element div : element.parent().getElementsByTag("div")) {
-                if(!div.hasAttr("class")) {
-                    if(!announcement && !pinned) {
-                        announcement = true;
-                    } else if(announcement) {
-                        announcement = false;
-                        pinned = true;
+            assert titleLink != null;
+            String name = titleLink.text();
+            String url = Forum.FORUM_URL + titleLink.attr("href").replace("?action=newpost", "");
+            String iconUrl = element.getElementsByClass("thread-avatar").first().getElementsByTag("img").first().attr("src");
+            UnparsedUser author = UnparsedUser.of(element.getElementsByClass("thread-author").first().text());
+            Element repliesElement = element.getElementsByClass("replies").first();
+            int repliesCount = repliesElement == null ? 0 : Integer.parseInt(repliesElement.getElementsByClass("num").first().text().replace(",", ""));
+            Element viewsElement = element.getElementsByClass("views").first();
+            int viewsCount = repliesElement == null ? 0 : Integer.parseInt(viewsElement.getElementsByClass("num").first().text().replace(",", ""));
+            String rawLastReplyDate = element.getElementsByClass("thread-lastpost-date").first().ownText();
+            Element lastReplyAuthorElement = lastReplyElement.getElementsByClass("load-user-box").first();
+            UnparsedUser lastReplyAuthor = lastReplyAuthorElement == null ? author : UnparsedUser.of(lastReplyAuthorElement.text());
+            TopicPrefix prefix = null;
+            Element threadTitle = element.getElementsByClass("thread-title").first();
+            for(Element span : threadTitle.getElementsByTag("span")) {
+                if(!span.hasText() || !span.text().startsWith("[") || !span.hasAttr("style")) continue;
+                String prefixText = span.text();
+                String[] prefixStyleParts = span.attr("style").split(";");
+                String prefixColor = prefixStyleParts[0].substring("color: ".length(), prefixStyleParts[0].length());
+                prefix = new TopicPrefix(prefixText, prefixColor);
+            }
+            boolean announcement = false, pinned = false;
+            if(element.parent().className().equals("hidden-xs")) {
+                for(Element div : element.parent().getElementsByTag("div")) {
+                    if(!div.hasAttr("class")) {
+                        if(!announcement && !pinned) {
+                            announcement = true;
+                        } else if(announcement) {
+                            announcement = false;
+                            pinned = true;
+                        }
+                    }
+                    if(div.equals(element)) {
+                        break;
                     }
-                }
-                if(div.equals(element)) {
-                    break;
                 }
             }
-        }
 
-        boolean poll = threadTitle.ownText().contains("Sondaggio:");
-        boolean moved = threadTitle.ownText().contains("Spostato:");
-        return new ListedTopic(name, iconUrl, url, rawLastReplyDate, author, lastReplyAuthor, section, repliesCount, viewsCount, prefix, announcement, pinned, poll, moved);
+            boolean poll = threadTitle.ownText().contains("Sondaggio:");
+            boolean moved = threadTitle.ownText().contains("Spostato:");
+            return new ListedTopic(name, iconUrl, url, rawLastReplyDate, author, lastReplyAuthor, section, repliesCount, viewsCount, prefix, announcement, pinned, poll, moved);
+        } finally {
+            probe.stop();
+        }
     }
 
     /**
@@ -204,4 +212,11 @@ public class ListedTopic {
     public Topic toTopic(int page) {
         return Topic.fromUrl(url, page);
     }
+
+    /**
+     * @return Future of {@link #toTopic()}
+     */
+    public CompletableFuture<Topic> toTopicAsync() {
+        return Topic.fromUrlAsync(url);
+    }
 }
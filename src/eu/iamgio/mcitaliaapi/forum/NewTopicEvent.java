@@ -0,0 +1,30 @@
+package eu.iamgio.mcitaliaapi.forum;
+
+/**
+ * Fired by {@link LastTopicsPoller} when a new topic is found
+ * @author Gio
+ */
+public class NewTopicEvent {
+
+    private LastTopic topic;
+    private LastTopicsPoller poller;
+
+    NewTopicEvent(LastTopic topic, LastTopicsPoller poller) {
+        this.topic = topic;
+        this.poller = poller;
+    }
+
+    /**
+     * @return New topic
+     */
+    public LastTopic getTopic() {
+        return topic;
+    }
+
+    /**
+     * @return Poller that found the topic
+     */
+    public LastTopicsPoller getPoller() {
+        return poller;
+    }
+}
@@ -0,0 +1,15 @@
+package eu.iamgio.mcitaliaapi.forum;
+
+/**
+ * Listener of the new topics found by a {@link LastTopicsPoller}
+ * @author Gio
+ */
+@FunctionalInterface
+public interface NewTopicListener {
+
+    /**
+     * Called for each new topic, from the oldest to the newest
+     * @param event Event
+     */
+    void onNewTopic(NewTopicEvent event);
+}
@@ -0,0 +1,32 @@
+package eu.iamgio.mcitaliaapi.forum;
+
+import eu.iamgio.mcitaliaapi.util.Utils;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+
+/**
+ * Reads the pagination of topic and section pages
+ * @author Gio
+ */
+final class Pagination {
+
+    private Pagination() {}
+
+    /**
+     * Finds the amount of pages as the highest page number linked by the pagination.
+     * The last page is not always linked as <tt>pagination_last</tt>: it is left out when every page is already linked
+     * @param document Page of a topic or of a section
+     * @return Amount of pages. <tt>null</tt> if the page has no pagination
+     */
+    static Integer parsePagesCount(Document document) {
+        Element pagination = document.getElementsByClass("pagination").first();
+        if(pagination == null) return null;
+        int pagesCount = 1;
+        for(Element element : pagination.children()) {
+            if(!element.hasClass("pagination_page") && !element.hasClass("pagination_current") && !element.hasClass("pagination_last")) continue;
+            Integer number = Utils.tryExtract(() -> Integer.parseInt(element.text().trim()));
+            if(number != null && number > pagesCount) pagesCount = number;
+        }
+        return pagesCount;
+    }
+}
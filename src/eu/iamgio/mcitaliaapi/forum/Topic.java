@@ -1,30 +1,50 @@
 package eu.iamgio.mcitaliaapi.forum;
 
 import eu.iamgio.mcitaliaapi.connection.HttpConnection;
+import eu.iamgio.mcitaliaapi.connection.Response;
+import eu.iamgio.mcitaliaapi.connection.Urls;
+import eu.iamgio.mcitaliaapi.connection.Validators;
 import eu.iamgio.mcitaliaapi.exception.MinecraftItaliaException;
+import eu.iamgio.mcitaliaapi.metrics.Metrics;
+import eu.iamgio.mcitaliaapi.metrics.Profiler;
 import eu.iamgio.mcitaliaapi.user.UnparsedUser;
+import eu.iamgio.mcitaliaapi.util.Async;
+import eu.iamgio.mcitaliaapi.util.AuthorStatistics;
+import eu.iamgio.mcitaliaapi.util.ParallelPageIterator;
+import eu.iamgio.mcitaliaapi.util.Utils;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
+import org.jsoup.nodes.Node;
+import org.jsoup.select.NodeFilter;
+import org.jsoup.select.NodeTraversor;
 
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.util.ArrayList;
-import java.util.Date;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Locale;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
- * Represents a forum topic
+ * Represents a forum topic.
+ * Its page is parsed once per {@link #update()}, so that no DOM is retained
  * @author Gio
  */
 public class Topic {
 
-    private String url, standardUrl, postHash;
-    private Document document;
+    private String url, standardUrl;
+    private int page, pagesCount;
 
+    private Validators validators;
     private long id;
-
-    private int page;
+    private String postHash, replySubject;
+    private String sectionName, sectionUrl;
+    private boolean locked, poll;
+    private String pollResultsUrl;
+    private List<TopicPost> posts;
 
     private Topic(String url, int page) {
         this.url = url + "?page=" + (page + 1);
@@ -34,10 +54,38 @@ public class Topic {
     }
 
     /**
-     * Updates connection
+     * Updates data. The page is downloaded and parsed again only if it changed since the last update
+     * @return <tt>true</tt> if the page changed
+     * @throws MinecraftItaliaException if the posts could not be parsed
      */
-    public void update() {
-        this.document = new HttpConnection(url).connect().get();
+    public boolean update() throws MinecraftItaliaException {
+        HttpConnection connection = new HttpConnection(url).connect();
+        Document document = connection.getIfModified(validators);
+        if(document == null) return false;
+        long start = System.nanoTime();
+        Long id = Utils.tryExtract(() -> Long.parseLong(document.select("input[name=tid]").attr("value")));
+        this.id = id == null ? 0 : id;
+        Element postHashElement = document.getElementById("posthash");
+        this.postHash = postHashElement == null ? null : postHashElement.attr("value");
+        Element subjectElement = document.select("input[name=subject]").first();
+        this.replySubject = subjectElement == null ? null : subjectElement.attr("value");
+        Element sectionItem = Utils.tryExtract(() -> document.getElementsByAttributeValue("itemprop", "itemListElement").last().child(0));
+        this.sectionName = sectionItem == null ? null : sectionItem.ownText();
+        this.sectionUrl = sectionItem == null ? null : sectionItem.attr("href");
+        this.locked = document.getElementsByClass("mdi-lock-outline").size() > 0;
+        this.poll = document.getElementsByClass("tborder tfixed").size() > 0;
+        this.pollResultsUrl = poll ? Utils.tryExtract(() -> document.getElementsContainingOwnText("Mostra risultato").first().attr("href")) : null;
+        try {
+            this.posts = Collections.unmodifiableList(parsePosts(document));
+        } catch(RuntimeException e) {
+            throw new MinecraftItaliaException("Could not parse the posts of " + url + ".", e);
+        }
+        Integer pagesCount = Pagination.parsePagesCount(document);
+        this.pagesCount = pagesCount == null ? 1 : pagesCount;
+        Metrics.recordParse(Topic.class, start);
+        // Stored last, so that a page that failed to parse is not skipped as unchanged by the next update
+        this.validators = connection.getValidators();
+        return true;
     }
 
     /**
@@ -57,13 +105,36 @@ public class Topic {
         return new Topic(url, page);
     }
 
+    /**
+     * @param url URL of topic
+     * @return Future of {@link #fromUrl(String)}
+     */
+    public static CompletableFuture<Topic> fromUrlAsync(String url) {
+        return Async.supply(() -> fromUrl(url));
+    }
+
+    /**
+     * @param url URL of topic
+     * @param page Start page
+     * @return Future of {@link #fromUrl(String, int)}
+     */
+    public static CompletableFuture<Topic> fromUrlAsync(String url, int page) {
+        return Async.supply(() -> fromUrl(url, page));
+    }
+
+    /**
+     * @return Amount of pages of the topic
+     */
+    public int getPagesCount() {
+        return pagesCount;
+    }
+
     /**
      * @return Topic ID
+     * @throws MinecraftItaliaException if the ID could not be found
      */
-    public long getId() {
-        if(id == 0) {
-            id = Long.parseLong(document.select("input[name=tid]").attr("value"));
-        }
+    public long getId() throws MinecraftItaliaException {
+        if(id == 0) throw new MinecraftItaliaException("Could not find topic ID.");
         return id;
     }
 
@@ -72,11 +143,7 @@ public class Topic {
      * @throws MinecraftItaliaException if there isn't any logged user
      */
     public String getPostHash() throws MinecraftItaliaException {
-        if(postHash == null) {
-            Element postHashElement = document.getElementById("posthash");
-            if(postHashElement == null) throw new MinecraftItaliaException("There isn't any logged user: could not find post hash.");
-            postHash = postHashElement.attr("value");
-        }
+        if(postHash == null) throw new MinecraftItaliaException("There isn't any logged user: could not find post hash.");
         return postHash;
     }
 
@@ -85,18 +152,17 @@ public class Topic {
      * @throws MinecraftItaliaException if there isn't any logged user
      */
     public String getReplySubject() throws MinecraftItaliaException {
-        Element subjectElement = document.select("input[name=subject]").first();
-        if(subjectElement == null) throw new MinecraftItaliaException("There isn't any logged user: could not find subject.");
-        return subjectElement.attr("value");
+        if(replySubject == null) throw new MinecraftItaliaException("There isn't any logged user: could not find subject.");
+        return replySubject;
     }
 
     /**
      * @return Section of the topic
+     * @throws MinecraftItaliaException if the section could not be found
      */
-    public ForumSubSection getSection() {
-        if(document == null) update();
-        Element item = document.getElementsByAttributeValue("itemprop", "itemListElement").last().child(0);
-        return new ForumSubSection(item.ownText(), item.attr("href"));
+    public ForumSubSection getSection() throws MinecraftItaliaException {
+        if(sectionName == null) throw new MinecraftItaliaException("Could not find topic section.");
+        return new ForumSubSection(sectionName, sectionUrl);
     }
 
     /**
@@ -104,62 +170,166 @@ public class Topic {
      * @return Posts of the topic in the selected page
      */
     public List<TopicPost> getPosts(int page) {
-        Document document;
-        if(page == this.page) {
-            document = this.document;
-        } else {
-            document = new HttpConnection(standardUrl + "?page=" + (page + 1)).connect().get();
+        if(page == this.page && posts != null) {
+            return new ArrayList<>(posts);
+        }
+        return parsePosts(new HttpConnection(standardUrl + "?page=" + (page + 1)).connect().get());
+    }
+
+    /**
+     * Lazily extracts the posts of a page, without building the DOM of the whole page
+     * if it was not already loaded. Each post is parsed when it is reached by the iterator
+     * @param page Page of the topic
+     * @return Iterator over the posts of the topic in the selected page
+     */
+    public Iterator<TopicPost> streamPosts(int page) {
+        if(page == this.page && posts != null) {
+            return posts.iterator();
         }
-        List<TopicPost> posts = new ArrayList<>();
-        for(Element postElement : document.getElementsByClass("post")) {
-            String pid = postElement.attr("data-post-id");
-            long id = pid.isEmpty() ? -1 : Long.parseLong(pid);
-            Element authorElement = postElement.getElementsByClass("post_author").first();
-            Element bodyElement = postElement.getElementsByClass("post_body").first();
-            Element signatureElement = postElement.getElementsByClass("signature").first();
-            UnparsedUser user = new UnparsedUser(authorElement.getElementsByClass("username-inner").first().text());
-            String rawDate = postElement.getElementsByClass("post_date").first().ownText();
-            Element statisticsElement = authorElement.getElementsByClass("author_statistics").first();
-            String[] statisticsParts = statisticsElement.ownText().split(" ");
-            int userMessagesCount = Integer.parseInt(statisticsParts[1].replace(",", ""));
-            String rawRegistrationDate = statisticsParts[statisticsParts.length - 2] + " " + statisticsParts[statisticsParts.length - 1];
-            Date registrationDate = null;
-            try {
-                registrationDate = new SimpleDateFormat("MMM yyyy", Locale.ENGLISH).parse(rawRegistrationDate);
-            } catch(ParseException e) {
-                e.printStackTrace();
+        Response response = new HttpConnection(standardUrl + "?page=" + (page + 1)).connect().getRaw();
+        return new TopicPostScanner(response);
+    }
+
+    /**
+     * @param document Page of the topic
+     * @return Posts inside of the page
+     */
+    static List<TopicPost> parsePosts(Document document) {
+        Profiler.Probe probe = Profiler.start("Topic.getPosts");
+        try {
+            List<TopicPost> posts = new ArrayList<>();
+            for(Element postElement : document.getElementsByClass("post")) {
+                posts.add(parsePost(postElement));
             }
-            int userTopicsCount = Integer.parseInt(statisticsElement.getElementsByClass("postbit_userthreads").first().ownText().replace(",", "").split(" ")[1]);
-            String[] likesReceivedParts = statisticsElement.getElementsByClass("postbit_tylreceived").first().ownText().replace(",", "").split(" ");
-            int userLikesReceivedCount = Integer.parseInt(likesReceivedParts[2]);
-            int userLikedPostsCount = Integer.parseInt(likesReceivedParts[4]);
-            int userLikesGivenCount = Integer.parseInt(statisticsElement.getElementsByClass("postbit_tylgiven").first().ownText().replace(",", "").split(" ")[2]);
-            List<String> userBadges = new ArrayList<>();
-            for(Element badge : document.getElementsByClass("my-badge-inner")) {
-                userBadges.add(badge.text());
+            return posts;
+        } finally {
+            probe.stop();
+        }
+    }
+
+    /**
+     * Parses a post walking its element only once. Post body and signature are not descended into
+     * @param postElement Element of the post
+     * @return Parsed post
+     */
+    static TopicPost parsePost(Element postElement) {
+        PostElements elements = new PostElements();
+        NodeTraversor.filter(elements, postElement);
+        String pid = postElement.attr("data-post-id");
+        long id = pid.isEmpty() ? -1 : Long.parseLong(pid);
+        UnparsedUser user = UnparsedUser.of(elements.username.text());
+        String rawDate = elements.date.ownText();
+        AuthorStatistics statistics = AuthorStatistics.parse(elements.statistics, elements.threads, elements.likesReceived, elements.likesGiven);
+        String userAvatarUrl = elements.avatar.getElementsByTag("img").first().attr("src");
+        boolean userOnline = elements.onlineStatus.attr("title").equals("Online");
+        List<UnparsedUser> likeGivers = new ArrayList<>();
+        if(elements.likeGivers != null) {
+            for(Element link : elements.likeGivers.getElementsByTag("a")) {
+                likeGivers.add(UnparsedUser.of(link.text()));
             }
-            String userAvatarUrl = authorElement.getElementsByClass("author_avatar").first().getElementsByTag("img").first().attr("src");
-            boolean userOnline = authorElement.getElementsByClass("online-status").first().attr("title").equals("Online");
-            List<UnparsedUser> likeGivers = new ArrayList<>();
-            Element likeGiversElement = postElement.getElementsByClass("post_controls tyllist").first();
-            if(likeGiversElement != null) {
-                for(Element link : likeGiversElement.getElementsByClass("tyllist-users").first().getElementsByTag("a")) {
-                    likeGivers.add(new UnparsedUser(link.text()));
+        }
+        String plainText = elements.body.text();
+        String html = elements.body.html();
+        String userSignatureHtml = elements.signature == null ? "" : elements.signature.html();
+        return new TopicPost(id, plainText, html, user, rawDate,
+                statistics.getMessagesCount(), statistics.getTopicsCount(), statistics.getLikesReceivedCount(), statistics.getLikedPostsCount(), statistics.getLikesGivenCount(),
+                elements.badges, statistics.getRawRegistrationDate(), statistics.getRegistrationDate(), userAvatarUrl, userOnline, likeGivers, userSignatureHtml);
+    }
+
+    /**
+     * Collects the elements of a post needed by {@link #parsePost(Element)} in a single walk
+     */
+    private static class PostElements implements NodeFilter {
+
+        private Element username, date, statistics, threads, likesReceived, likesGiven, avatar, onlineStatus, likeGivers, body, signature;
+        private List<String> badges = new ArrayList<>();
+
+        @Override
+        public FilterResult head(Node node, int depth) {
+            if(!(node instanceof Element) || depth == 0) return FilterResult.CONTINUE;
+            Element element = (Element) node;
+            for(String className : element.classNames()) {
+                switch(className) {
+                    case "post_body":
+                        if(body == null) body = element;
+                        return FilterResult.SKIP_CHILDREN;
+                    case "signature":
+                        if(signature == null) signature = element;
+                        return FilterResult.SKIP_CHILDREN;
+                    case "tyllist-users":
+                        if(likeGivers == null) likeGivers = element;
+                        return FilterResult.SKIP_CHILDREN;
+                    case "my-badge-inner":
+                        badges.add(element.text());
+                        return FilterResult.SKIP_CHILDREN;
+                    case "username-inner":
+                        if(username == null) username = element;
+                        break;
+                    case "post_date":
+                        if(date == null) date = element;
+                        break;
+                    case "author_statistics":
+                        if(statistics == null) statistics = element;
+                        break;
+                    case "postbit_userthreads":
+                        if(threads == null) threads = element;
+                        break;
+                    case "postbit_tylreceived":
+                        if(likesReceived == null) likesReceived = element;
+                        break;
+                    case "postbit_tylgiven":
+                        if(likesGiven == null) likesGiven = element;
+                        break;
+                    case "author_avatar":
+                        if(avatar == null) avatar = element;
+                        break;
+                    case "online-status":
+                        if(onlineStatus == null) onlineStatus = element;
+                        break;
                 }
             }
-            String plainText = bodyElement.text();
-            String html = bodyElement.html();
-            String userSignatureHtml = signatureElement == null ? "" : signatureElement.html();
-            posts.add(new TopicPost(id, plainText, html, user, rawDate, userMessagesCount, userTopicsCount, userLikesReceivedCount, userLikedPostsCount, userLikesGivenCount, userBadges, rawRegistrationDate, registrationDate, userAvatarUrl, userOnline, likeGivers, userSignatureHtml));
+            return FilterResult.CONTINUE;
         }
-        return posts;
+
+        @Override
+        public FilterResult tail(Node node, int depth) {
+            return FilterResult.CONTINUE;
+        }
+    }
+
+    /**
+     * Streams every post of the topic, fetching up to 4 pages at the same time
+     * @return Posts of every page, in order
+     * @see #postStream(int)
+     */
+    public Stream<TopicPost> postStream() {
+        return postStream(4);
+    }
+
+    /**
+     * Streams every post of the topic. Pages are fetched concurrently in a window that slides
+     * as posts are consumed, while posts are still emitted in page order
+     * @param parallelism Max amount of pages fetched at the same time
+     * @return Posts of every page, in order
+     */
+    public Stream<TopicPost> postStream(int parallelism) {
+        Iterator<TopicPost> iterator = new ParallelPageIterator<>(this::getPosts, 0, pagesCount, parallelism);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * @param page Page of the topic
+     * @return Future of {@link #getPosts(int)}
+     */
+    public CompletableFuture<List<TopicPost>> getPostsAsync(int page) {
+        return Async.supply(() -> getPosts(page));
     }
 
     /**
      * @return <tt>true</tt> if the topic is locked
      */
     public boolean isLocked() {
-        return document.getElementsByClass("mdi-lock-outline").size() > 0;
+        return locked;
     }
 
     /**
@@ -173,7 +343,7 @@ public class Topic {
      * @return <tt>true</tt> if the topic has a poll
      */
     public boolean hasPoll() {
-        return document.getElementsByClass("tborder tfixed").size() > 0;
+        return poll;
     }
 
     /**
@@ -181,8 +351,8 @@ public class Topic {
      * @throws MinecraftItaliaException If there isn't an ongoing poll
      */
     public TopicPoll getPoll() throws MinecraftItaliaException {
-        if(!hasPoll()) throw new MinecraftItaliaException("There isn't an ongoing poll.");
-        String resultsUrl = document.getElementsContainingOwnText("Mostra risultato").first().attr("href");
+        if(!hasPoll() || pollResultsUrl == null) throw new MinecraftItaliaException("There isn't an ongoing poll.");
+        String resultsUrl = pollResultsUrl;
         Document document = new HttpConnection(Forum.FORUM_URL + resultsUrl).connect().get();
         Element tbody = document.getElementsByTag("tbody").first();
         List<TopicPollMember> members = new ArrayList<>();
@@ -193,8 +363,8 @@ public class Topic {
             double perc = Double.parseDouble(element.child(3).ownText().replace("%", ""));
             List<UnparsedUser> users = new ArrayList<>();
             for(Element userElement : element.getElementsByTag("a")) {
-                if(userElement.attr("href").startsWith("https://www.minecraft-italia.it/forum/u-")) {
-                    users.add(new UnparsedUser(userElement.ownText()));
+                if(userElement.attr("href").contains("/forum/u-")) {
+                    users.add(UnparsedUser.of(userElement.ownText()));
                 }
             }
             members.add(new TopicPollMember(name, count, perc, users));
@@ -0,0 +1,171 @@
+package eu.iamgio.mcitaliaapi.forum;
+
+import eu.iamgio.mcitaliaapi.connection.Response;
+import eu.iamgio.mcitaliaapi.exception.MinecraftItaliaException;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Extracts posts from a topic page in a single pass over its body, without building the DOM of the whole page.
+ * Every post is cut out of the stream and parsed on its own when requested.
+ * If no post can be found this way, the page is parsed as a whole as {@link Topic#getPosts(int)} does
+ * @author Gio
+ */
+class TopicPostScanner implements Iterator<TopicPost> {
+
+    private static final Pattern CLASS_PATTERN = Pattern.compile("\\sclass\\s*=\\s*(?:\"([^\"]*)\"|'([^']*)'|([^\\s>]+))", Pattern.CASE_INSENSITIVE);
+
+    private Response response;
+    private Reader reader;
+
+    private TopicPost next;
+    private Iterator<TopicPost> fallback;
+    private boolean done;
+    private int found;
+
+    TopicPostScanner(Response response) {
+        this.response = response;
+        Charset charset = response.charset() == null ? StandardCharsets.UTF_8 : Charset.forName(response.charset());
+        this.reader = new BufferedReader(new InputStreamReader(response.bodyStream(), charset));
+    }
+
+    @Override
+    public boolean hasNext() {
+        if(fallback != null) return fallback.hasNext();
+        if(next == null && !done) {
+            String chunk = nextPostChunk();
+            if(chunk == null) {
+                done = true;
+                if(found == 0) {
+                    Document document = response.parse();
+                    fallback = Topic.parsePosts(document).iterator();
+                    return fallback.hasNext();
+                }
+            } else {
+                found++;
+                Element postElement = Jsoup.parseBodyFragment(chunk, response.url()).body().child(0);
+                next = Topic.parsePost(postElement);
+            }
+        }
+        return next != null;
+    }
+
+    @Override
+    public TopicPost next() {
+        if(!hasNext()) throw new NoSuchElementException();
+        if(fallback != null) return fallback.next();
+        TopicPost post = next;
+        next = null;
+        return post;
+    }
+
+    /**
+     * @return HTML of the next post element. <tt>null</tt> if the stream is over
+     */
+    private String nextPostChunk() {
+        try {
+            StringBuilder chunk = null;
+            int depth = 0;
+            int c;
+            while((c = reader.read()) != -1) {
+                if(chunk != null) chunk.append((char) c);
+                if(c != '<') continue;
+                String tag = readTag(chunk);
+                if(tag == null) continue;
+                String name = tagName(tag);
+                if(name.equals("script") || name.equals("style")) {
+                    skipRawText(name, chunk);
+                } else if(chunk == null) {
+                    if(name.equals("div") && isPostTag(tag)) {
+                        chunk = new StringBuilder("<").append(tag).append('>');
+                        depth = 1;
+                    }
+                } else if(name.equals("div")) {
+                    depth++;
+                } else if(name.equals("/div") && --depth == 0) {
+                    return chunk.toString();
+                }
+            }
+            return null;
+        } catch(IOException e) {
+            throw new MinecraftItaliaException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Reads a tag right after its <tt>&lt;</tt>, skipping comments
+     * @param chunk Builder to append read characters to, if any
+     * @return Tag content without brackets. <tt>null</tt> if a comment was read
+     */
+    private String readTag(StringBuilder chunk) throws IOException {
+        StringBuilder tag = new StringBuilder();
+        char quote = 0;
+        int c;
+        while((c = reader.read()) != -1) {
+            if(chunk != null) chunk.append((char) c);
+            if(quote != 0) {
+                if(c == quote) quote = 0;
+            } else if(c == '"' || c == '\'') {
+                quote = (char) c;
+            } else if(c == '>') {
+                break;
+            }
+            tag.append((char) c);
+            if(tag.length() == 3 && tag.toString().equals("!--")) {
+                skipUntil("-->", chunk);
+                return null;
+            }
+        }
+        return tag.toString();
+    }
+
+    private void skipRawText(String name, StringBuilder chunk) throws IOException {
+        skipUntil("</" + name, chunk);
+        readTag(chunk);
+    }
+
+    private void skipUntil(String end, StringBuilder chunk) throws IOException {
+        int matched = 0;
+        int c;
+        while(matched < end.length() && (c = reader.read()) != -1) {
+            if(chunk != null) chunk.append((char) c);
+            if(Character.toLowerCase(c) == end.charAt(matched)) {
+                matched++;
+            } else {
+                matched = Character.toLowerCase(c) == end.charAt(0) ? 1 : 0;
+            }
+        }
+    }
+
+    private static String tagName(String tag) {
+        if(tag.isEmpty()) return tag;
+        // Starts from 1 in order to keep the slash of closing tags
+        int end = 1;
+        while(end < tag.length() && !Character.isWhitespace(tag.charAt(end)) && tag.charAt(end) != '/') {
+            end++;
+        }
+        return tag.substring(0, end).toLowerCase();
+    }
+
+    private static boolean isPostTag(String tag) {
+        Matcher matcher = CLASS_PATTERN.matcher(tag);
+        if(!matcher.find()) return false;
+        String classes = matcher.group(1) != null ? matcher.group(1) : matcher.group(2) != null ? matcher.group(2) : matcher.group(3);
+        for(String className : classes.split("\\s+")) {
+            if(className.equals("post")) return true;
+        }
+        return false;
+    }
+}
@@ -13,7 +13,7 @@ import java.util.Date;
  */
 public class Article {
 
-    private Document document;
+    private String html;
 
     private String name, description, url, imageUrl, category, categoryUrl;
     private UnparsedUser author;
@@ -95,14 +95,17 @@ public class Article {
     }
 
     /**
-     * @return Article content as HTML
+     * @return Article content as HTML. The article page is loaded once, and only its content is retained
      */
     public String getHtml() {
-        if(document == null) document = new HttpConnection(url).connect().get();
-        Element body = document.getElementById("post-body");
-        for(Element duckspace : body.getElementsByClass("duckspace-left")) {
-            duckspace.remove();
+        if(html == null) {
+            Document document = new HttpConnection(url).connect().get();
+            Element body = document.getElementById("post-body");
+            for(Element duckspace : body.getElementsByClass("duckspace-left")) {
+                duckspace.remove();
+            }
+            html = body.html();
         }
-        return body.html();
+        return html;
     }
 }
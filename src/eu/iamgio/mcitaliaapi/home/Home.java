@@ -1,7 +1,14 @@
 package eu.iamgio.mcitaliaapi.home;
 
 import eu.iamgio.mcitaliaapi.connection.HttpConnection;
+import eu.iamgio.mcitaliaapi.connection.Urls;
+import eu.iamgio.mcitaliaapi.connection.Validators;
+import eu.iamgio.mcitaliaapi.exception.MinecraftItaliaException;
+import eu.iamgio.mcitaliaapi.metrics.Metrics;
+import eu.iamgio.mcitaliaapi.metrics.Profiler;
 import eu.iamgio.mcitaliaapi.user.UnparsedUser;
+import eu.iamgio.mcitaliaapi.util.Async;
+import eu.iamgio.mcitaliaapi.util.Utils;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
 
@@ -12,15 +19,18 @@ import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
 
 /**
- * Represents the home (www.minecraft-italia.it)
+ * Represents the home (www.minecraft-italia.it).
+ * Its page is parsed once per {@link #update()}, so that no DOM is retained
  * @author Gio
  */
 public class Home {
 
-    private Document document;
+    private List<Article> articles;
 
+    private Validators validators;
     private static Home instance;
 
     private Home() {
@@ -36,34 +46,65 @@ public class Home {
     }
 
     /**
-     * Updates connection
+     * @return Future of {@link #getHome()}
      */
-    public void update() {
-        this.document = new HttpConnection("https://www.minecraft-italia.it").connect().get();
+    public static CompletableFuture<Home> getHomeAsync() {
+        return Async.supply(Home::getHome);
+    }
+
+    /**
+     * Updates data. The page is downloaded and parsed again only if it changed since the last update
+     * @return <tt>true</tt> if the page changed
+     */
+    public boolean update() {
+        HttpConnection connection = new HttpConnection(Urls.getBaseUrl()).connect();
+        Document document = connection.getIfModified(validators);
+        if(document == null) return false;
+        long start = System.nanoTime();
+        this.articles = Utils.tryExtract(() -> parseArticles(document));
+        Metrics.recordParse(Home.class, start);
+        // A page whose articles could not be parsed is downloaded again by the next update
+        this.validators = articles == null ? null : connection.getValidators();
+        return true;
     }
 
     /**
      * @return Articles (available on homepage)
+     * @throws MinecraftItaliaException if the articles could not be parsed
+     */
+    public List<Article> getArticles() throws MinecraftItaliaException {
+        if(articles == null) throw new MinecraftItaliaException("Could not parse the articles of the home.");
+        return new ArrayList<>(articles);
+    }
+
+    /**
+     * @param document Page of the home
+     * @return Articles inside of the page
      */
-    public List<Article> getArticles() {
-        List<Article> feeds = new ArrayList<>();
-        for(Element article : document.getElementsByClass("article")) {
-            String name = article.getElementsByClass("post-title").first().text();
-            String description = article.getElementsByClass("post-body").first().text();
-            String url = article.getElementsByClass("post-header").first().attr("href");
-            String imageUrl = article.getElementsByClass("post-cover").first().attr("data-background");
-            Element categoryElement = article.getElementsByClass("blog-category").first();
-            String category = categoryElement.text();
-            String categoryUrl = categoryElement.attr("href");
-            UnparsedUser author = new UnparsedUser(article.getElementsByClass("author").first().getElementsByTag("a").first().text());
-            DateFormat format = new SimpleDateFormat("yyy-MM-dd'T'hh:mm:ss", Locale.ITALIAN);
-            Date publishedDate = null, modifiedDate = null;
-            try {
-                publishedDate = format.parse(article.getElementsByAttributeValue("itemprop", "datePublished").first().attr("content"));
-                modifiedDate = format.parse(article.getElementsByAttributeValue("itemprop", "dateModified").first().attr("content"));
-            } catch(ParseException ignored) {}
-            feeds.add(new Article(name, description, url, imageUrl, category, categoryUrl, author, publishedDate, modifiedDate));
+    private static List<Article> parseArticles(Document document) {
+        Profiler.Probe probe = Profiler.start("Home.getArticles");
+        try {
+            List<Article> feeds = new ArrayList<>();
+            for(Element article : document.getElementsByClass("article")) {
+                String name = article.getElementsByClass("post-title").first().text();
+                String description = article.getElementsByClass("post-body").first().text();
+                String url = article.getElementsByClass("post-header").first().attr("href");
+                String imageUrl = article.getElementsByClass("post-cover").first().attr("data-background");
+                Element categoryElement = article.getElementsByClass("blog-category").first();
+                String category = categoryElement.text();
+                String categoryUrl = categoryElement.attr("href");
+                UnparsedUser author = UnparsedUser.of(article.getElementsByClass("author").first().getElementsByTag("a").first().text());
+                DateFormat format = new SimpleDateFormat("yyy-MM-dd'T'hh:mm:ss", Locale.ITALIAN);
+                Date publishedDate = null, modifiedDate = null;
+                try {
+                    publishedDate = format.parse(article.getElementsByAttributeValue("itemprop", "datePublished").first().attr("content"));
+                    modifiedDate = format.parse(article.getElementsByAttributeValue("itemprop", "dateModified").first().attr("content"));
+                } catch(ParseException ignored) {}
+                feeds.add(new Article(name, description, url, imageUrl, category, categoryUrl, author, publishedDate, modifiedDate));
+            }
+            return feeds;
+        } finally {
+            probe.stop();
         }
-        return feeds;
     }
 }
@@ -0,0 +1,115 @@
+package eu.iamgio.mcitaliaapi.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe distribution of durations, with power-of-two buckets from 1 microsecond up.
+ * Percentiles are estimated as the upper bound of the bucket they fall in
+ * @author Gio
+ */
+public class Histogram {
+
+    private static final int BUCKETS = 40;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder total = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * @param nanos Recorded duration in nanos
+     */
+    public void record(long nanos) {
+        if(nanos < 0) return;
+        buckets.incrementAndGet(bucket(nanos));
+        count.increment();
+        total.add(nanos);
+        long previous;
+        while(nanos > (previous = max.get()) && !max.compareAndSet(previous, nanos)) {
+            // Retries until the max is updated or a greater value is recorded
+        }
+    }
+
+    /**
+     * @return Amount of recorded durations
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * @param unit Time unit
+     * @return Sum of the recorded durations
+     */
+    public double getTotal(TimeUnit unit) {
+        return (double) total.sum() / unit.toNanos(1);
+    }
+
+    /**
+     * @param unit Time unit
+     * @return Mean of the recorded durations. 0 if none was recorded
+     */
+    public double getMean(TimeUnit unit) {
+        long count = getCount();
+        return count == 0 ? 0 : getTotal(unit) / count;
+    }
+
+    /**
+     * @param unit Time unit
+     * @return Longest recorded duration
+     */
+    public double getMax(TimeUnit unit) {
+        return (double) max.get() / unit.toNanos(1);
+    }
+
+    /**
+     * @param percentile Percentile, between 0 and 1
+     * @param unit Time unit
+     * @return Estimated duration below which the given fraction of the recorded durations falls. 0 if none was recorded
+     */
+    public double getPercentile(double percentile, TimeUnit unit) {
+        long count = getCount();
+        if(count == 0) return 0;
+        long rank = (long) Math.ceil(percentile * count);
+        long seen = 0;
+        for(int i = 0; i < BUCKETS; i++) {
+            seen += buckets.get(i);
+            if(seen >= rank && seen > 0) {
+                return Math.min((double) upperBound(i), max.get()) / unit.toNanos(1);
+            }
+        }
+        return getMax(unit);
+    }
+
+    /**
+     * Discards every recorded duration
+     */
+    public void reset() {
+        for(int i = 0; i < BUCKETS; i++) {
+            buckets.set(i, 0);
+        }
+        count.reset();
+        total.reset();
+        max.set(0);
+    }
+
+    private static int bucket(long nanos) {
+        long micros = nanos / 1000;
+        int bucket = micros == 0 ? 0 : 64 - Long.numberOfLeadingZeros(micros);
+        return Math.min(bucket, BUCKETS - 1);
+    }
+
+    private static long upperBound(int bucket) {
+        return (1L << bucket) * 1000;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("count=%d mean=%.2fms p50=%.2fms p99=%.2fms max=%.2fms",
+                getCount(), getMean(TimeUnit.MICROSECONDS) / 1000, getPercentile(.5, TimeUnit.MICROSECONDS) / 1000,
+                getPercentile(.99, TimeUnit.MICROSECONDS) / 1000, getMax(TimeUnit.MICROSECONDS) / 1000);
+    }
+}
@@ -0,0 +1,158 @@
+package eu.iamgio.mcitaliaapi.metrics;
+
+import eu.iamgio.mcitaliaapi.connection.EndpointFamily;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Plain registry keeping every measurement in memory:
+ * per {@link EndpointFamily} request, error and status code counts, response bytes and latency of each {@link Phase},
+ * and parse time per model type
+ * @author Gio
+ */
+public class InMemoryMetrics implements MetricsRecorder {
+
+    private final Map<EndpointFamily, FamilyMetrics> families = new EnumMap<>(EndpointFamily.class);
+    private final Map<Class<?>, Histogram> parseTimes = new ConcurrentHashMap<>();
+
+    public InMemoryMetrics() {
+        for(EndpointFamily family : EndpointFamily.values()) {
+            families.put(family, new FamilyMetrics());
+        }
+    }
+
+    @Override
+    public void recordRequest(RequestEvent event) {
+        FamilyMetrics metrics = families.get(event.getFamily());
+        metrics.requests.increment();
+        if(event.isError()) metrics.errors.increment();
+        metrics.bytes.add(event.getResponseBytes());
+        metrics.statusCodes.computeIfAbsent(event.getStatusCode(), s -> new LongAdder()).increment();
+        for(Map.Entry<Phase, Long> time : event.getTimes().entrySet()) {
+            metrics.latencies.get(time.getKey()).record(time.getValue());
+        }
+    }
+
+    @Override
+    public void recordParse(Class<?> model, long nanos) {
+        parseTimes.computeIfAbsent(model, m -> new Histogram()).record(nanos);
+    }
+
+    /**
+     * @param family Endpoint family
+     * @return Amount of requests sent, including retry attempts
+     */
+    public long getRequestCount(EndpointFamily family) {
+        return families.get(family).requests.sum();
+    }
+
+    /**
+     * @param family Endpoint family
+     * @return Amount of requests that failed or received an error status
+     */
+    public long getErrorCount(EndpointFamily family) {
+        return families.get(family).errors.sum();
+    }
+
+    /**
+     * @param family Endpoint family
+     * @param statusCode Status code. -1 for requests that received no response
+     * @return Amount of responses with the status code
+     */
+    public long getStatusCount(EndpointFamily family, int statusCode) {
+        LongAdder count = families.get(family).statusCodes.get(statusCode);
+        return count == null ? 0 : count.sum();
+    }
+
+    /**
+     * @param family Endpoint family
+     * @return Total size of the received response bodies
+     */
+    public long getResponseBytes(EndpointFamily family) {
+        return families.get(family).bytes.sum();
+    }
+
+    /**
+     * @param family Endpoint family
+     * @param phase Phase of the requests
+     * @return Distribution of the time spent in the phase
+     */
+    public Histogram getLatency(EndpointFamily family, Phase phase) {
+        return families.get(family).latencies.get(phase);
+    }
+
+    /**
+     * @param model Type of the parsed model
+     * @return Distribution of the parse time of the model. <tt>null</tt> if it was never parsed
+     */
+    public Histogram getParseTime(Class<?> model) {
+        return parseTimes.get(model);
+    }
+
+    /**
+     * @return Model types whose parse time was recorded
+     */
+    public Set<Class<?>> getParsedTypes() {
+        return Collections.unmodifiableSet(parseTimes.keySet());
+    }
+
+    /**
+     * Discards every measurement
+     */
+    public void reset() {
+        for(FamilyMetrics metrics : families.values()) {
+            metrics.reset();
+        }
+        parseTimes.clear();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        for(Map.Entry<EndpointFamily, FamilyMetrics> entry : families.entrySet()) {
+            FamilyMetrics metrics = entry.getValue();
+            if(metrics.requests.sum() == 0) continue;
+            builder.append(entry.getKey()).append(": requests=").append(metrics.requests.sum())
+                    .append(" errors=").append(metrics.errors.sum())
+                    .append(" bytes=").append(metrics.bytes.sum()).append('\n');
+            for(Map.Entry<Phase, Histogram> latency : metrics.latencies.entrySet()) {
+                if(latency.getValue().getCount() == 0) continue;
+                builder.append("  ").append(latency.getKey()).append(' ').append(latency.getValue()).append('\n');
+            }
+        }
+        for(Map.Entry<Class<?>, Histogram> entry : parseTimes.entrySet()) {
+            builder.append("parse ").append(entry.getKey().getSimpleName()).append(' ').append(entry.getValue()).append('\n');
+        }
+        return builder.toString();
+    }
+
+    private static class FamilyMetrics {
+
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder bytes = new LongAdder();
+        private final Map<Integer, LongAdder> statusCodes = new ConcurrentHashMap<>();
+        private final Map<Phase, Histogram> latencies = new EnumMap<>(Phase.class);
+
+        private FamilyMetrics() {
+            for(Phase phase : Phase.values()) {
+                latencies.put(phase, new Histogram());
+            }
+        }
+
+        private void reset() {
+            requests.reset();
+            errors.reset();
+            bytes.reset();
+            statusCodes.clear();
+            for(Histogram histogram : latencies.values()) {
+                histogram.reset();
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package eu.iamgio.mcitaliaapi.metrics;
+
+import java.util.Map;
+
+/**
+ * Recorder mapping measurements to dimensional meters named after the Micrometer conventions,
+ * so that binding it to a meter registry only requires implementing the three meter types:
+ * <ul>
+ *     <li><tt>mcitalia.http.client.requests</tt> (timer): total time, tagged <tt>family</tt>, <tt>method</tt>, <tt>status</tt>, <tt>outcome</tt></li>
+ *     <li><tt>mcitalia.http.client.phase</tt> (timer): time of each {@link Phase}, tagged <tt>family</tt>, <tt>phase</tt></li>
+ *     <li><tt>mcitalia.http.client.response.size</tt> (summary): body bytes, tagged <tt>family</tt></li>
+ *     <li><tt>mcitalia.http.client.errors</tt> (counter): failed requests, tagged <tt>family</tt>, <tt>error</tt></li>
+ *     <li><tt>mcitalia.parse</tt> (timer): parse time, tagged <tt>model</tt></li>
+ * </ul>
+ * Tags are passed as alternating keys and values, as accepted by Micrometer's <tt>Tags.of(String...)</tt>
+ * @author Gio
+ */
+public abstract class MeterRecorder implements MetricsRecorder {
+
+    /**
+     * @param name Meter name
+     * @param nanos Recorded duration in nanos
+     * @param tags Alternating tag keys and values
+     */
+    protected abstract void timer(String name, long nanos, String... tags);
+
+    /**
+     * @param name Meter name
+     * @param amount Recorded amount
+     * @param tags Alternating tag keys and values
+     */
+    protected abstract void summary(String name, double amount, String... tags);
+
+    /**
+     * @param name Meter name
+     * @param tags Alternating tag keys and values
+     */
+    protected abstract void counter(String name, String... tags);
+
+    @Override
+    public void recordRequest(RequestEvent event) {
+        String family = event.getFamily().name().toLowerCase();
+        String status = event.getStatusCode() < 0 ? "none" : String.valueOf(event.getStatusCode());
+        long total = event.getTime(Phase.TOTAL);
+        if(total >= 0) {
+            timer("mcitalia.http.client.requests", total,
+                    "family", family, "method", event.getMethod(), "status", status, "outcome", event.isError() ? "error" : "success");
+        }
+        for(Map.Entry<Phase, Long> time : event.getTimes().entrySet()) {
+            if(time.getKey() == Phase.TOTAL) continue;
+            timer("mcitalia.http.client.phase", time.getValue(), "family", family, "phase", time.getKey().name().toLowerCase());
+        }
+        summary("mcitalia.http.client.response.size", event.getResponseBytes(), "family", family);
+        if(event.isError()) {
+            counter("mcitalia.http.client.errors", "family", family, "error", event.getError() == null ? status : event.getError().getClass().getSimpleName());
+        }
+    }
+
+    @Override
+    public void recordParse(Class<?> model, long nanos) {
+        timer("mcitalia.parse", nanos, "model", model.getSimpleName());
+    }
+}
@@ -0,0 +1,48 @@
+package eu.iamgio.mcitaliaapi.metrics;
+
+/**
+ * Holds the {@link MetricsRecorder} the library reports to. Nothing is recorded by default
+ * @author Gio
+ */
+public class Metrics {
+
+    /**
+     * Recorder that discards every measurement
+     */
+    public static final MetricsRecorder NOOP = new MetricsRecorder() {};
+
+    private static volatile MetricsRecorder recorder = NOOP;
+
+    private Metrics() {}
+
+    /**
+     * @return Recorder measurements are reported to
+     */
+    public static MetricsRecorder getRecorder() {
+        return recorder;
+    }
+
+    /**
+     * @param recorder Recorder measurements are reported to, e.g. {@link InMemoryMetrics}. <tt>null</tt> to disable metrics
+     */
+    public static void setRecorder(MetricsRecorder recorder) {
+        Metrics.recorder = recorder == null ? NOOP : recorder;
+    }
+
+    /**
+     * @return <tt>true</tt> if measurements are recorded
+     */
+    public static boolean isEnabled() {
+        return recorder != NOOP;
+    }
+
+    /**
+     * Records the parse time of a model
+     * @param model Type of the parsed model
+     * @param start Value of {@link System#nanoTime()} when parsing started
+     */
+    public static void recordParse(Class<?> model, long start) {
+        MetricsRecorder recorder = Metrics.recorder;
+        if(recorder != NOOP) recorder.recordParse(model, System.nanoTime() - start);
+    }
+}
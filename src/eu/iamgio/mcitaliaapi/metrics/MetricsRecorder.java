@@ -0,0 +1,23 @@
+package eu.iamgio.mcitaliaapi.metrics;
+
+/**
+ * Receives the measurements of the library. Implementations must be thread-safe and fast,
+ * since they are called on the threads performing the requests
+ * @author Gio
+ * @see Metrics#setRecorder(MetricsRecorder)
+ */
+public interface MetricsRecorder {
+
+    /**
+     * Called after each request sent to the transport, including failed ones
+     * @param event Outcome of the request
+     */
+    default void recordRequest(RequestEvent event) {}
+
+    /**
+     * Called after a downloaded page or response is parsed into a model
+     * @param model Type of the parsed model. {@link org.jsoup.nodes.Document} for the HTML parsing itself
+     * @param nanos Parse time in nanos
+     */
+    default void recordParse(Class<?> model, long nanos) {}
+}
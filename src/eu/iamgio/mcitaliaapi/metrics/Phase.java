@@ -0,0 +1,34 @@
+package eu.iamgio.mcitaliaapi.metrics;
+
+/**
+ * Phases of a request whose time is measured
+ * @author Gio
+ */
+public enum Phase {
+
+    /**
+     * Wait for a free connection of the pool
+     */
+    QUEUE,
+
+    /**
+     * Resolution of the host name. Usually a hit of the JVM's DNS cache
+     */
+    DNS,
+
+    /**
+     * From sending the request to receiving the response headers (time to first byte).
+     * It includes connecting, since the JDK does not expose it separately
+     */
+    TTFB,
+
+    /**
+     * Reading of the response body
+     */
+    DOWNLOAD,
+
+    /**
+     * Whole exchange with the transport, as seen by the connection. Rate limit waits are not included
+     */
+    TOTAL
+}
@@ -0,0 +1,230 @@
+package eu.iamgio.mcitaliaapi.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measures wall-clock time and allocated bytes of the model extractors, e.g. <tt>ListedTopic.fromElement</tt>.
+ * Profiling is enabled by launching the JVM with <tt>-Dmcitaliaapi.profile=true</tt>:
+ * when disabled, {@link #start(String)} returns a shared no-op probe, so extractors pay neither for timing nor for allocation.
+ * Allocations are counted only if the JVM supports per-thread allocation counters, and not on virtual threads
+ * @author Gio
+ */
+public class Profiler {
+
+    /**
+     * System property enabling the profiler
+     */
+    public static final String PROPERTY = "mcitaliaapi.profile";
+
+    private static final boolean ENABLED = Boolean.getBoolean(PROPERTY);
+    private static final com.sun.management.ThreadMXBean THREADS = ENABLED ? allocationCounter() : null;
+
+    private static final Probe NOOP = new Probe(null);
+    private static final Map<String, ExtractorStats> stats = new ConcurrentHashMap<>();
+
+    private Profiler() {}
+
+    /**
+     * @return <tt>true</tt> if the JVM was launched with {@link #PROPERTY} set to <tt>true</tt>
+     */
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * @return <tt>true</tt> if allocated bytes are counted too
+     */
+    public static boolean isCountingAllocations() {
+        return THREADS != null;
+    }
+
+    /**
+     * Starts measuring an extraction. {@link Probe#stop()} must be called by the same thread
+     * @param extractor Name of the extractor
+     * @return Running probe
+     */
+    public static Probe start(String extractor) {
+        return ENABLED ? new Probe(extractor) : NOOP;
+    }
+
+    /**
+     * @return Statistics of every extractor run so far, from the most expensive in total time
+     */
+    public static List<ExtractorStats> getSummary() {
+        List<ExtractorStats> summary = new ArrayList<>(stats.values());
+        summary.sort(Comparator.comparingLong(ExtractorStats::getTotalNanos).reversed());
+        return summary;
+    }
+
+    /**
+     * @param extractor Name of the extractor
+     * @return Statistics of the extractor. <tt>null</tt> if it never ran
+     */
+    public static ExtractorStats getStats(String extractor) {
+        return stats.get(extractor);
+    }
+
+    /**
+     * Discards every collected statistic
+     */
+    public static void reset() {
+        stats.clear();
+    }
+
+    /**
+     * @return Human readable table of {@link #getSummary()}
+     */
+    public static String dump() {
+        StringBuilder builder = new StringBuilder();
+        if(!ENABLED) return builder.append("Profiler disabled: set -D").append(PROPERTY).append("=true").toString();
+        builder.append(String.format("%-45s %8s %10s %10s %10s %12s%n", "extractor", "calls", "wall ms", "mean us", "max us", "bytes/call"));
+        for(ExtractorStats extractor : getSummary()) {
+            builder.append(String.format("%-45s %8d %10.2f %10.1f %10.1f %12s%n",
+                    extractor.getName(),
+                    extractor.getCalls(),
+                    extractor.getTotalNanos() / 1_000_000.0,
+                    extractor.getMeanNanos() / 1_000.0,
+                    extractor.getMaxNanos() / 1_000.0,
+                    extractor.getAllocatedBytesPerCall() < 0 ? "n/a" : String.valueOf(extractor.getAllocatedBytesPerCall())
+            ));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * @return Bytes allocated so far by the current thread. <tt>-1</tt> if they cannot be counted, e.g. on a virtual thread
+     */
+    private static long allocatedBytes() {
+        return THREADS == null ? -1 : THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private static com.sun.management.ThreadMXBean allocationCounter() {
+        try {
+            ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+            if(!(bean instanceof com.sun.management.ThreadMXBean)) return null;
+            com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+            if(!threads.isThreadAllocatedMemorySupported()) return null;
+            threads.setThreadAllocatedMemoryEnabled(true);
+            return threads;
+        } catch(LinkageError | UnsupportedOperationException | SecurityException e) {
+            return null;
+        }
+    }
+
+    /**
+     * A running measurement of an extractor. It should be stopped in a <tt>finally</tt> block
+     */
+    public static class Probe {
+
+        private final String extractor;
+        private final long startNanos, startBytes;
+
+        private Probe(String extractor) {
+            this.extractor = extractor;
+            this.startBytes = extractor == null ? 0 : allocatedBytes();
+            this.startNanos = extractor == null ? 0 : System.nanoTime();
+        }
+
+        /**
+         * Stops the measurement and adds it to the statistics of the extractor
+         */
+        public void stop() {
+            if(extractor == null) return;
+            long nanos = System.nanoTime() - startNanos;
+            long endBytes = startBytes < 0 ? -1 : allocatedBytes();
+            long bytes = endBytes < 0 ? -1 : endBytes - startBytes;
+            stats.computeIfAbsent(extractor, ExtractorStats::new).record(nanos, bytes);
+        }
+    }
+
+    /**
+     * Aggregated measurements of an extractor
+     */
+    public static class ExtractorStats {
+
+        private final String name;
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+        private final LongAdder allocatedBytes = new LongAdder();
+        private final LongAdder countedCalls = new LongAdder();
+
+        private ExtractorStats(String name) {
+            this.name = name;
+        }
+
+        private void record(long nanos, long bytes) {
+            calls.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+            if(bytes >= 0) {
+                allocatedBytes.add(bytes);
+                countedCalls.increment();
+            }
+        }
+
+        /**
+         * @return Name of the extractor
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return Amount of extractions
+         */
+        public long getCalls() {
+            return calls.sum();
+        }
+
+        /**
+         * @return Total wall-clock time spent extracting, in nanoseconds
+         */
+        public long getTotalNanos() {
+            return totalNanos.sum();
+        }
+
+        /**
+         * @return Mean wall-clock time of an extraction, in nanoseconds
+         */
+        public double getMeanNanos() {
+            long calls = getCalls();
+            return calls == 0 ? 0 : (double) getTotalNanos() / calls;
+        }
+
+        /**
+         * @return Longest extraction, in nanoseconds
+         */
+        public long getMaxNanos() {
+            return maxNanos.get();
+        }
+
+        /**
+         * @return Total bytes allocated by the extractions whose allocations could be counted. -1 if none could
+         */
+        public long getAllocatedBytes() {
+            return countedCalls.sum() == 0 ? -1 : allocatedBytes.sum();
+        }
+
+        /**
+         * @return Mean bytes allocated by the extractions whose allocations could be counted. -1 if none could
+         */
+        public long getAllocatedBytesPerCall() {
+            long counted = countedCalls.sum();
+            return counted == 0 ? -1 : allocatedBytes.sum() / counted;
+        }
+
+        @Override
+        public String toString() {
+            return name + " calls=" + getCalls() + " totalNanos=" + getTotalNanos() + " allocatedBytes=" + getAllocatedBytes();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package eu.iamgio.mcitaliaapi.metrics;
+
+import eu.iamgio.mcitaliaapi.connection.EndpointFamily;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Outcome of a single request sent to the transport. Each retry attempt is a separate event
+ * @author Gio
+ */
+public class RequestEvent {
+
+    private final EndpointFamily family;
+    private final String method;
+    private final int statusCode;
+    private final long responseBytes;
+    private final Throwable error;
+    private final Map<Phase, Long> times;
+
+    /**
+     * @param family Family of the requested endpoint
+     * @param method HTTP method
+     * @param statusCode Status code of the response. -1 if no response was received
+     * @param responseBytes Size of the response body
+     * @param error Exception thrown by the transport. <tt>null</tt> if a response was received
+     * @param times Time in nanos spent in each measured phase
+     */
+    public RequestEvent(EndpointFamily family, String method, int statusCode, long responseBytes, Throwable error, Map<Phase, Long> times) {
+        this.family = family;
+        this.method = method;
+        this.statusCode = statusCode;
+        this.responseBytes = responseBytes;
+        this.error = error;
+        this.times = times.isEmpty() ? Collections.emptyMap() : Collections.unmodifiableMap(new EnumMap<>(times));
+    }
+
+    /**
+     * @return Family of the requested endpoint
+     */
+    public EndpointFamily getFamily() {
+        return family;
+    }
+
+    /**
+     * @return HTTP method
+     */
+    public String getMethod() {
+        return method;
+    }
+
+    /**
+     * @return Status code of the response. -1 if no response was received
+     */
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    /**
+     * @return Size of the response body
+     */
+    public long getResponseBytes() {
+        return responseBytes;
+    }
+
+    /**
+     * @return Exception thrown by the transport. <tt>null</tt> if a response was received
+     */
+    public Throwable getError() {
+        return error;
+    }
+
+    /**
+     * @return <tt>true</tt> if no response was received or its status is an error
+     */
+    public boolean isError() {
+        return error != null || statusCode >= 400;
+    }
+
+    /**
+     * @param phase Phase of the request
+     * @return Time in nanos spent in the phase. -1 if it was not measured
+     */
+    public long getTime(Phase phase) {
+        Long time = times.get(phase);
+        return time == null ? -1 : time;
+    }
+
+    /**
+     * @return Time in nanos spent in each measured phase
+     */
+    public Map<Phase, Long> getTimes() {
+        return times;
+    }
+}
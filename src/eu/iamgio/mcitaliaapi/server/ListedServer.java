@@ -1,7 +1,11 @@
 package eu.iamgio.mcitaliaapi.server;
 
-import org.json.simple.JSONArray;
-import org.json.simple.JSONObject;
+import eu.iamgio.mcitaliaapi.connection.Urls;
+import eu.iamgio.mcitaliaapi.connection.json.JsonReader;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Represents a listed server inside of serverlist
@@ -29,27 +33,44 @@ public class ListedServer {
         this.votesToday = votesToday;
     }
 
-    static ListedServer fromJsonObject(JSONObject json) {
-        long id = (long) json.get("id");
-        String stringId = json.get("serverid").toString();
-        String name = json.get("name").toString();
-        String address = json.get("address").toString();
-        String description = json.get("description").toString();
-        String logoUrl = "https://www.minecraft-italia.it/media/server/logo/" + json.get("logo").toString();
-        String coverUrl = "https://www.minecraft-italia.it/media/server/cover/" + json.get("cover").toString();
-        JSONArray versionsArray = (JSONArray) json.get("version");
-        String[] versions = new String[versionsArray.size()];
-        for(int i = 0; i < versionsArray.size(); i++) {
-            versions[i] = versionsArray.get(i).toString();
-        }
-        JSONArray categoriesArray = (JSONArray) json.get("categories");
-        ServerCategory[] categories = new ServerCategory[categoriesArray.size()];
-        for(int i = 0; i < categoriesArray.size(); i++) {
-            categories[i] = ServerCategory.fromId(categoriesArray.get(i).toString());
+    static ListedServer fromJson(JsonReader reader) {
+        long id = 0;
+        String stringId = null, name = null, address = null, description = null, logoUrl = null, coverUrl = null;
+        List<String> versions = new ArrayList<>();
+        List<ServerCategory> categories = new ArrayList<>();
+        int votes = 0, votesToday = 0;
+        reader.beginObject();
+        while(reader.hasNext()) {
+            switch(reader.nextName()) {
+                case "id": id = reader.nextLong(); break;
+                case "serverid": stringId = reader.nextString(); break;
+                case "name": name = reader.nextString(); break;
+                case "address": address = reader.nextString(); break;
+                case "description": description = reader.nextString(); break;
+                case "logo": logoUrl = Urls.of("/media/server/logo/") + reader.nextString(); break;
+                case "cover": coverUrl = Urls.of("/media/server/cover/") + reader.nextString(); break;
+                case "version":
+                    reader.beginArray();
+                    while(reader.hasNext()) {
+                        versions.add(reader.nextString());
+                    }
+                    reader.endArray();
+                    break;
+                case "categories":
+                    reader.beginArray();
+                    while(reader.hasNext()) {
+                        categories.add(ServerCategory.fromId(reader.nextString()));
+                    }
+                    reader.endArray();
+                    break;
+                case "votes": votes = reader.nextInt(); break;
+                case "votes_today": votesToday = reader.nextInt(); break;
+                default: reader.skipValue();
+            }
         }
-        int votes = Integer.parseInt(json.get("votes").toString());
-        int votesToday = Integer.parseInt(json.get("votes_today").toString());
-        return new ListedServer(id, stringId, name, address, description, logoUrl, coverUrl, versions, categories, votes, votesToday);
+        reader.endObject();
+        return new ListedServer(id, stringId, name, address, description, logoUrl, coverUrl,
+                versions.toArray(new String[0]), categories.toArray(new ServerCategory[0]), votes, votesToday);
     }
 
     /**
@@ -135,4 +156,11 @@ public class ListedServer {
     public Server toServer() {
         return Server.fromStringId(stringId);
     }
+
+    /**
+     * @return Future of {@link #toServer()}
+     */
+    public CompletableFuture<Server> toServerAsync() {
+        return Server.fromStringIdAsync(stringId);
+    }
 }
@@ -1,8 +1,12 @@
 package eu.iamgio.mcitaliaapi.server;
 
-import eu.iamgio.mcitaliaapi.connection.json.JSONParser;
+import eu.iamgio.mcitaliaapi.connection.Urls;
+import eu.iamgio.mcitaliaapi.connection.json.JsonReader;
 import eu.iamgio.mcitaliaapi.exception.MinecraftItaliaException;
-import org.json.simple.JSONObject;
+import eu.iamgio.mcitaliaapi.metrics.Metrics;
+import eu.iamgio.mcitaliaapi.util.Async;
+
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Represents a server
@@ -129,30 +133,53 @@ public class Server {
      */
     public static Server fromStringId(String stringId) throws MinecraftItaliaException {
         stringId = stringId.toLowerCase();
-        JSONObject json;
+        String status = null, message = null;
+        long id = 0;
+        String name = null, address = null, description = null, rawVersion = null;
+        int position = 0, votes = 0, votesToday = 0, playersCount = 0, maxPlayersCount = 0, slots = 0;
+        boolean online = false;
         try {
-            json = new JSONParser("https://www.minecraft-italia.it/api/server-info/" + stringId).parse();
+            JsonReader reader = JsonReader.fromUrl(Urls.of("/api/server-info/") + stringId);
+            long start = System.nanoTime();
+            reader.beginObject();
+            while(reader.hasNext()) {
+                switch(reader.nextName()) {
+                    case "status": status = reader.nextString(); break;
+                    case "message": message = reader.nextString(); break;
+                    case "id": id = reader.nextLong(); break;
+                    case "title": name = reader.nextString(); break;
+                    case "address": address = reader.nextString(); break;
+                    case "description": description = reader.nextString(); break;
+                    case "version": rawVersion = reader.nextString(); break;
+                    case "position": position = reader.nextInt(); break;
+                    case "votes": votes = reader.nextInt(); break;
+                    case "votes_today": votesToday = reader.nextInt(); break;
+                    case "players": playersCount = reader.nextInt(); break;
+                    case "max_players": maxPlayersCount = reader.nextInt(); break;
+                    case "slot": slots = reader.nextInt(); break;
+                    case "online": online = reader.nextBoolean(); break;
+                    default: reader.skipValue();
+                }
+            }
+            reader.endObject();
+            Metrics.recordParse(Server.class, start);
         } catch(RuntimeException e) {
-            throw new MinecraftItaliaException("Could not find server '" + stringId + "'");
+            throw new MinecraftItaliaException("Could not find server '" + stringId + "'", e);
         }
-        if(json.get("status").equals("error")) {
-            throw new MinecraftItaliaException(json.get("message").toString());
+        if("error".equals(status)) {
+            throw new MinecraftItaliaException(message);
         }
-        long id = (long) json.get("id");
-        String name = json.get("title").toString();
-        String address = json.get("address").toString();
-        String description = json.get("description").toString();
-        String rawVersion = json.get("version").toString();
-        int position = Integer.parseInt(json.get("position").toString());
-        int votes = Integer.parseInt(json.get("votes").toString());
-        int votesToday = Integer.parseInt(json.get("votes_today").toString());
-        int playersCount = Integer.parseInt(json.get("players").toString());
-        int maxPlayersCount = Integer.parseInt(json.get("max_players").toString());
-        int slots = Integer.parseInt(json.get("slot").toString());
-        boolean online = (boolean) json.get("online");
         return new Server(id, stringId, name, address, description, rawVersion, position, votes, votesToday, playersCount, maxPlayersCount, slots, online);
     }
 
+    /**
+     * @param stringId String-ID of the server
+     * @return Future of {@link #fromStringId(String)}
+     */
+    public static CompletableFuture<Server> fromStringIdAsync(String stringId) {
+        return Async.supply(() -> fromStringId(stringId));
+    }
+
     public enum Platform {
         PC, PE;
 
@@ -1,13 +1,15 @@
 package eu.iamgio.mcitaliaapi.server;
 
 import com.sun.istack.internal.Nullable;
-import eu.iamgio.mcitaliaapi.connection.json.JSONParser;
+import eu.iamgio.mcitaliaapi.connection.Urls;
+import eu.iamgio.mcitaliaapi.connection.json.JsonReader;
 import eu.iamgio.mcitaliaapi.exception.MinecraftItaliaException;
-import org.json.simple.JSONArray;
-import org.json.simple.JSONObject;
+import eu.iamgio.mcitaliaapi.metrics.Metrics;
+import eu.iamgio.mcitaliaapi.util.Async;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Represents a server category
@@ -85,7 +87,7 @@ public enum ServerCategory {
     public List<ListedServer> getServers(Server.Platform platform, @Nullable String[] versions, int limit, @Nullable Server.OrderField orderField, @Nullable Server.OrderType orderType) throws MinecraftItaliaException {
         List<ListedServer> servers = new ArrayList<>();
         String url =
-                "https://www.minecraft-italia.it/api/server-list/?"
+                Urls.of("/api/server-list/?")
                 + "platform=" + platform.value()
                 + "&limit=" + limit;
         if(this != ALL) {
@@ -105,16 +107,43 @@ public enum ServerCategory {
         if(orderType != null) {
             url += "&order_type=" + orderType.value();
         }
-        JSONObject json = new JSONParser(url).parse();
-        if(json.get("status").equals("error")) {
-            throw new MinecraftItaliaException(json.get("message").toString());
+        String status = null, message = null;
+        JsonReader reader = JsonReader.fromUrl(url);
+        long start = System.nanoTime();
+        reader.beginObject();
+        while(reader.hasNext()) {
+            switch(reader.nextName()) {
+                case "status": status = reader.nextString(); break;
+                case "message": message = reader.nextString(); break;
+                case "results":
+                    if(reader.peek() != JsonReader.Token.BEGIN_ARRAY) {
+                        reader.skipValue();
+                        break;
+                    }
+                    reader.beginArray();
+                    while(reader.hasNext()) {
+                        servers.add(ListedServer.fromJson(reader));
+                    }
+                    reader.endArray();
+                    break;
+                default: reader.skipValue();
+            }
         }
-        for(Object result : (JSONArray) json.get("results")) {
-            servers.add(ListedServer.fromJsonObject((JSONObject) result));
+        reader.endObject();
+        Metrics.recordParse(ListedServer.class, start);
+        if("error".equals(status)) {
+            throw new MinecraftItaliaException(message);
         }
         return servers;
     }
 
+    /**
+     * @see #getServers(Server.Platform, String[], int, Server.OrderField, Server.OrderType)
+     */
+    public CompletableFuture<List<ListedServer>> getServersAsync(Server.Platform platform, @Nullable String[] versions, int limit, @Nullable Server.OrderField orderField, @Nullable Server.OrderType orderType) {
+        return Async.supply(() -> getServers(platform, versions, limit, orderField, orderType));
+    }
+
     /**
      * @see #getServers(Server.Platform, String[], int, Server.OrderField, Server.OrderType)
      */
@@ -142,4 +171,11 @@ public enum ServerCategory {
     public List<ListedServer> getServers() {
         return getServers(Server.Platform.PC, null, 30, null, null);
     }
+
+    /**
+     * @see #getServers()
+     */
+    public CompletableFuture<List<ListedServer>> getServersAsync() {
+        return getServersAsync(Server.Platform.PC, null, 30, null, null);
+    }
 }
@@ -1,5 +1,6 @@
 package eu.iamgio.mcitaliaapi.tagboard;
 
+import eu.iamgio.mcitaliaapi.connection.Urls;
 import eu.iamgio.mcitaliaapi.connection.json.JSONParser;
 import eu.iamgio.mcitaliaapi.user.UnparsedUser;
 import eu.iamgio.mcitaliaapi.util.Utils;
@@ -25,7 +26,7 @@ public class Tagboard {
 
     private Tagboard() {
         instance = this;
-        JSONObject json = new JSONParser("https://www.minecraft-italia.it/forum/xmlhttp.php?action=dvz_sb_get_shouts&from=0").parse();
+        JSONObject json = new JSONParser(Urls.of("/forum/xmlhttp.php?action=dvz_sb_get_shouts&from=0")).parse();
         this.element = Jsoup.parse(json.get("html").toString());
     }
 
@@ -35,13 +36,13 @@ public class Tagboard {
     public List<TagboardMessage> getMessages() {
         List<TagboardMessage> messages = new ArrayList<>();
         for(Element entry : element.getElementsByClass("entry")) {
-            UnparsedUser user = new UnparsedUser(entry.getElementsByClass("username-inner").first().ownText());
+            UnparsedUser user = UnparsedUser.of(entry.getElementsByClass("username-inner").first().ownText());
             UnparsedUser target;
             Element targetUserElement = entry.getElementsByClass("private-username").first();
             if(targetUserElement == null) {
                 target = null;
             } else {
-                target = new UnparsedUser(targetUserElement.ownText());
+                target = UnparsedUser.of(targetUserElement.ownText());
             }
             String text = entry.getElementsByClass("text").first().ownText();
             long id = Long.parseLong(entry.attr("data-id"));
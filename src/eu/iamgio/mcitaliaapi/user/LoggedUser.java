@@ -5,17 +5,22 @@ import eu.iamgio.mcitaliaapi.board.Board;
 import eu.iamgio.mcitaliaapi.board.BoardPost;
 import eu.iamgio.mcitaliaapi.board.BoardPostComment;
 import eu.iamgio.mcitaliaapi.board.BoardPostReply;
-import eu.iamgio.mcitaliaapi.connection.Cookies;
 import eu.iamgio.mcitaliaapi.connection.HttpConnection;
+import eu.iamgio.mcitaliaapi.connection.Response;
+import eu.iamgio.mcitaliaapi.connection.Session;
+import eu.iamgio.mcitaliaapi.connection.Urls;
 import eu.iamgio.mcitaliaapi.connection.json.JSONParser;
+import eu.iamgio.mcitaliaapi.connection.json.JsonReader;
 import eu.iamgio.mcitaliaapi.exception.MinecraftItaliaException;
 import eu.iamgio.mcitaliaapi.forum.ForumSubSection;
 import eu.iamgio.mcitaliaapi.forum.Topic;
 import eu.iamgio.mcitaliaapi.forum.TopicPoll;
 import eu.iamgio.mcitaliaapi.forum.TopicPost;
+import eu.iamgio.mcitaliaapi.metrics.Metrics;
+import eu.iamgio.mcitaliaapi.util.Async;
+import eu.iamgio.mcitaliaapi.util.PagedIterable;
 import eu.iamgio.mcitaliaapi.util.Pair;
 import eu.iamgio.mcitaliaapi.util.Utils;
-import org.json.simple.JSONArray;
 import org.json.simple.JSONObject;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
@@ -23,10 +28,11 @@ import org.jsoup.nodes.Element;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
-import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Represent a logged user
@@ -34,19 +40,29 @@ import java.util.List;
  */
 public class LoggedUser extends User {
 
-    String logoutUrl, postKey;
+    String logoutUrl;
+    private Session session;
 
-    LoggedUser(String name) {
+    LoggedUser(String name, Session session) {
         super(name);
+        this.session = session;
+    }
+
+    /**
+     * @return Session of the user, which owns its cookies.
+     * Use {@link Session#call(java.util.function.Supplier)} to fetch pages (e.g. topics to reply to) as this user
+     */
+    public Session getSession() {
+        return session;
     }
 
     /**
      * Logs out
      */
     public void logout() {
-        HttpConnection connection = new HttpConnection(logoutUrl).connect();
+        HttpConnection connection = new HttpConnection(logoutUrl, session).connect();
         connection.post();
-        Cookies.cookies = connection.getResponse().cookies();
+        session.setCookies(connection.getResponse().cookies());
     }
 
     /**
@@ -55,19 +71,23 @@ public class LoggedUser extends User {
      * @return User's notifications
      */
     public List<Notification> getNotifications(int from, int size) {
-        JSONObject json = new JSONParser(
-                "https://www.minecraft-italia.it/notification/get?s=" + from + "&l=" + size
-        ).parse();
+        JsonReader reader = JsonReader.fromUrl(Urls.of("/notification/get?s=") + from + "&l=" + size, session);
+        long start = System.nanoTime();
         List<Notification> notifications = new ArrayList<>();
-        for(Object obj : (JSONArray) json.get("notifications")) {
-            JSONObject notificationJson = (JSONObject) obj;
-            long id = (long) notificationJson.get("id");
-            long fromUid = (long) notificationJson.get("fromid");
-            String html = notificationJson.get("notify").toString();
-            Date date = Utils.getDateByTimestamp(notificationJson.get("timestamp").toString());
-            boolean viewed = notificationJson.get("viewed").toString().equals("1");
-            notifications.add(new Notification(id, fromUid, html, date, viewed));
+        reader.beginObject();
+        while(reader.hasNext()) {
+            if(!reader.nextName().equals("notifications")) {
+                reader.skipValue();
+                continue;
+            }
+            reader.beginArray();
+            while(reader.hasNext()) {
+                notifications.add(Notification.fromJson(reader));
+            }
+            reader.endArray();
         }
+        reader.endObject();
+        Metrics.recordParse(Notification.class, start);
         return notifications;
     }
 
@@ -79,11 +99,28 @@ public class LoggedUser extends User {
         return getNotifications(0, 15);
     }
 
+    /**
+     * @param from Start index
+     * @param size List size
+     * @return Future of {@link #getNotifications(int, int)}
+     */
+    public CompletableFuture<List<Notification>> getNotificationsAsync(int from, int size) {
+        return Async.supply(() -> getNotifications(from, size));
+    }
+
+    /**
+     * @param interval Time in millis between two checks of the unread count
+     * @return New stream of the notifications of this user. It must be started via {@link NotificationStream#start()}
+     */
+    public NotificationStream getNotificationStream(long interval) {
+        return new NotificationStream(this, interval);
+    }
+
     /**
      * @return Unread count as [notifications, private messages]
      */
     public Pair<Integer, Integer> getUnreadCount() {
-        JSONObject json = new JSONParser("https://www.minecraft-italia.it/notification/get_count").parse();
+        JSONObject json = new JSONParser(Urls.of("/notification/get_count"), session).parse();
         return new Pair<>(Integer.parseInt(json.get("unread").toString()), Integer.parseInt(json.get("unread_pm").toString()));
     }
 
@@ -92,10 +129,10 @@ public class LoggedUser extends User {
      * @param uid Target user's UID
      */
     public void followUser(long uid) {
-        new HttpConnection("https://www.minecraft-italia.it/board/set_buddylist").connect()
+        new HttpConnection(Urls.of("/board/set_buddylist"), session).connect()
                 .data("status", "0")
                 .data("uid", String.valueOf(uid))
-                .post();
+                .postRaw();
     }
 
     /**
@@ -103,10 +140,10 @@ public class LoggedUser extends User {
      * @param uid Target user's UID
      */
     public void unfollowUser(long uid) {
-        new HttpConnection("https://www.minecraft-italia.it/board/set_buddylist").connect()
+        new HttpConnection(Urls.of("/board/set_buddylist"), session).connect()
                 .data("status", "1")
                 .data("uid", String.valueOf(uid))
-                .post();
+                .postRaw();
     }
 
     /**
@@ -114,10 +151,10 @@ public class LoggedUser extends User {
      * @param uid Target user's UID
      */
     public void blockUser(long uid) {
-        new HttpConnection("https://www.minecraft-italia.it/board/set_ignorelist").connect()
+        new HttpConnection(Urls.of("/board/set_ignorelist"), session).connect()
                 .data("status", "0")
                 .data("uid", String.valueOf(uid))
-                .post();
+                .postRaw();
     }
 
     /**
@@ -125,10 +162,10 @@ public class LoggedUser extends User {
      * @param uid Target user's UID
      */
     public void unblockUser(long uid) {
-        new HttpConnection("https://www.minecraft-italia.it/board/set_ignorelist").connect()
+        new HttpConnection(Urls.of("/board/set_ignorelist"), session).connect()
                 .data("status", "1")
                 .data("uid", String.valueOf(uid))
-                .post();
+                .postRaw();
     }
 
     /**
@@ -148,19 +185,19 @@ public class LoggedUser extends User {
      * @throws MinecraftItaliaException if an error occurred
      */
     public void replyToTopic(Topic topic, String text) throws MinecraftItaliaException {
-        Document document = new HttpConnection("https://www.minecraft-italia.it/forum/newreply.php?ajax=1").connect()
+        Response response = new HttpConnection(Urls.of("/forum/newreply.php?ajax=1"), session).connect()
                 .data("action", "do_newreply")
                 .data("frompage", "1")
                 .data("lastpid", "1")
                 .data("message", text)
                 .data("method", "quickreply")
-                .data("my_post_key", postKey)
+                .data("my_post_key", session.getPostKey())
                 .data("posthash", topic.getPostHash())
                 .data("postoptions[signature]", "1")
                 .data("subject", topic.getReplySubject())
                 .data("tid", String.valueOf(topic.getId()))
-                .post();
-        String error = Utils.retrieveErrorFromJson(new JSONParser(document).parse());
+                .postRaw();
+        String error = Utils.retrieveErrorFromJson(new JSONParser(response).parse());
         if(error != null) throw new MinecraftItaliaException(error);
     }
 
@@ -171,11 +208,11 @@ public class LoggedUser extends User {
      * @throws MinecraftItaliaException if an error occurred
      */
     public void editPost(TopicPost post, String text) throws MinecraftItaliaException {
-        Document document = new HttpConnection("https://www.minecraft-italia.it/forum/xmlhttp.php?action=edit_post&do=update_post&pid=" + post.getId() + "&my_post_key=" + postKey).connect()
+        Response response = new HttpConnection(Urls.of("/forum/xmlhttp.php?action=edit_post&do=update_post&pid=") + post.getId() + "&my_post_key=" + session.getPostKey(), session).connect()
                 .data("id", "pid_" + post.getId())
                 .data("value", text)
-                .post();
-        String error = Utils.retrieveErrorFromJson(new JSONParser(document).parse());
+                .postRaw();
+        String error = Utils.retrieveErrorFromJson(new JSONParser(response).parse());
         if(error != null) throw new MinecraftItaliaException(error);
     }
 
@@ -187,9 +224,9 @@ public class LoggedUser extends User {
      */
     public void votePoll(TopicPoll poll, int option) throws MinecraftItaliaException {
         if(poll.isLocked()) throw new MinecraftItaliaException("Poll is locked.");
-        new HttpConnection("https://www.minecraft-italia.it/forum/polls.php")
+        new HttpConnection(Urls.of("/forum/polls.php"), session)
                 .data("action", "vote")
-                .data("my_post_key", postKey)
+                .data("my_post_key", session.getPostKey())
                 .data("option", String.valueOf(option + 1))
                 .data("pid", String.valueOf(poll.getId()))
                 .post();
@@ -202,9 +239,9 @@ public class LoggedUser extends User {
      */
     @Deprecated
     public void sendTagboardMessage(String text) {
-        new HttpConnection("https://www.minecraft-italia.it/forum/xmlhttp.php").connect()
+        new HttpConnection(Urls.of("/forum/xmlhttp.php"), session).connect()
                 .data("action", "dvz_sb_shout")
-                .data("key", postKey)
+                .data("key", session.getPostKey())
                 .data("text", text)
                 .post();
     }
@@ -224,7 +261,7 @@ public class LoggedUser extends User {
      * @return Friends' first 15 board posts
      */
     public List<BoardPost> getFriendsBoardPosts() {
-        return Board.getBoardPosts("https://www.minecraft-italia.it/board/get_posts?filter[type]=friends&filter[uid]=0&start=0");
+        return session.call(() -> Board.getBoardPosts(Urls.of("/board/get_posts?filter[type]=friends&filter[uid]=0&start=0")));
     }
 
     /**
@@ -232,13 +269,28 @@ public class LoggedUser extends User {
      * @return Friends' 15 board posts after <tt>start</tt>
      */
     public List<BoardPost> getFriendsBoardPosts(BoardPost start) {
-        return Board.getBoardPosts("https://www.minecraft-italia.it/board/get_posts?filter[type]=friends&filter[uid]=0&start=" + start.getId());
+        return session.call(() -> Board.getBoardPosts(Urls.of("/board/get_posts?filter[type]=friends&filter[uid]=0&start=") + start.getId()));
+    }
+
+    /**
+     * @param readAhead Amount of pages to fetch in advance
+     * @return Lazy sequence of every board post of the user's friends
+     */
+    public PagedIterable<BoardPost> iterateFriendsBoardPosts(int readAhead) {
+        return session.call(() -> Board.iterateBoardPosts(Urls.of("/board/get_posts?filter[type]=friends&filter[uid]=0&start="), readAhead));
+    }
+
+    /**
+     * @return Lazy sequence of every board post of the user's friends, fetching one page in advance
+     */
+    public PagedIterable<BoardPost> iterateFriendsBoardPosts() {
+        return iterateFriendsBoardPosts(1);
     }
 
     private String retrieveMediaId(File imageFile) throws MinecraftItaliaException, IOException {
-        HttpConnection imageConnection = new HttpConnection("https://www.minecraft-italia.it/board/image_add").connect()
+        HttpConnection imageConnection = new HttpConnection(Urls.of("/board/image_add"), session).connect()
                 .data("image", imageFile.getName(), new FileInputStream(imageFile));
-        JSONObject json = new JSONParser(imageConnection.post()).parse();
+        JSONObject json = new JSONParser(imageConnection.postRaw()).parse();
         if(json.get("status").equals("error")) {
             throw new MinecraftItaliaException(json.get("descr").toString());
         }
@@ -255,7 +307,7 @@ public class LoggedUser extends User {
      * @return New post
      */
     private BoardPost createBoardPost(String text, String uid_to, @Nullable HashMap<String, String> parameters) {
-        HttpConnection connection = new HttpConnection("https://www.minecraft-italia.it/board/post_add").connect()
+        HttpConnection connection = new HttpConnection(Urls.of("/board/post_add"), session).connect()
                 .data("content", text)
                 .data("uid_to", uid_to)
                 .data("url_preview", "");
@@ -264,11 +316,7 @@ public class LoggedUser extends User {
                 connection = connection.data(parameter, parameters.get(parameter));
             }
         }
-        Document document = connection.post();
-        JSONObject object = new JSONParser(document).parse();
-        JSONObject data = (JSONObject) object.get("data");
-        JSONObject post = (JSONObject) data.get("post");
-        return BoardPost.fromJsonObject(post);
+        return BoardPost.fromJson(readData(connection.postRaw(), "post"));
     }
 
     /**
@@ -324,9 +372,9 @@ public class LoggedUser extends User {
      * @param post Post to remove
      */
     public void removeBoardPost(BoardPost post) {
-        new HttpConnection("https://www.minecraft-italia.it/board/post_remove").connect()
+        new HttpConnection(Urls.of("/board/post_remove"), session).connect()
                 .data("pid", String.valueOf(post.getId()))
-                .post();
+                .postRaw();
     }
 
 
@@ -338,15 +386,12 @@ public class LoggedUser extends User {
      * @return New comment
      */
     public BoardPostComment commentBoardPost(BoardPost post, String text) {
-        Document document = new HttpConnection("https://www.minecraft-italia.it/board/comment_add").connect()
+        Response response = new HttpConnection(Urls.of("/board/comment_add"), session).connect()
                 .data("cid", "0")
                 .data("content", text)
                 .data("pid", String.valueOf(post.getId()))
-                .post();
-        JSONObject object = new JSONParser(document).parse();
-        JSONObject data = (JSONObject) object.get("data");
-        JSONObject comment = (JSONObject) data.get("comment");
-        return BoardPostComment.fromJsonObject(comment);
+                .postRaw();
+        return BoardPostComment.fromJson(readData(response, "comment"));
     }
 
     /**
@@ -356,15 +401,12 @@ public class LoggedUser extends User {
      * @return New reply
      */
     public BoardPostReply replyToBoardComment(BoardPost post, BoardPostComment comment, String text) {
-        Document document = new HttpConnection("https://www.minecraft-italia.it/board/comment_add").connect()
+        Response response = new HttpConnection(Urls.of("/board/comment_add"), session).connect()
                 .data("cid", String.valueOf(comment.getId()))
                 .data("content", text)
                 .data("pid", String.valueOf(post.getId()))
-                .post();
-        JSONObject object = new JSONParser(document).parse();
-        JSONObject data = (JSONObject) object.get("data");
-        JSONObject reply = (JSONObject) data.get("comment");
-        return BoardPostReply.fromJsonObject(reply);
+                .postRaw();
+        return BoardPostReply.fromJson(readData(response, "comment"));
     }
 
     /**
@@ -372,9 +414,9 @@ public class LoggedUser extends User {
      * @param comment Comment to remove
      */
     public void removeBoardComment(BoardPostComment comment) {
-        new HttpConnection("https://www.minecraft-italia.it/board/comment_remove").connect()
+        new HttpConnection(Urls.of("/board/comment_remove"), session).connect()
                 .data("cid", String.valueOf(comment.getId()))
-                .post();
+                .postRaw();
     }
 
     /**
@@ -382,9 +424,9 @@ public class LoggedUser extends User {
      * @param reply Reply to remove
      */
     public void removeBoardReply(BoardPostReply reply) {
-        new HttpConnection("https://www.minecraft-italia.it/board/comment_remove").connect()
+        new HttpConnection(Urls.of("/board/comment_remove"), session).connect()
                 .data("cid", String.valueOf(reply.getId()))
-                .post();
+                .postRaw();
     }
 
     /**
@@ -392,24 +434,62 @@ public class LoggedUser extends User {
      */
     public UnparsedUser[] getSuggestedFriends() {
         UnparsedUser[] users = new UnparsedUser[3];
-        Document document = new HttpConnection("https://www.minecraft-italia.it/board/suggested_friends").connect().post();
-        JSONObject object = new JSONParser(document).parse();
-        JSONObject data = (JSONObject) object.get("data");
-        String json = (String) data.get("friends");
-        JSONArray parsed = new JSONParser(json, true).parseArray();
-        for(int i = 0; i < parsed.size(); i++) {
-            users[i] = new UnparsedUser(((JSONObject) parsed.get(i)).get("username").toString());
+        Response response = new HttpConnection(Urls.of("/board/suggested_friends"), session).connect().postRaw();
+        // The friends list is sent as a JSON string nested inside of the response
+        String friends = readData(response, "friends").nextString();
+        JsonReader reader = new JsonReader(friends.getBytes(StandardCharsets.UTF_8));
+        reader.beginArray();
+        for(int i = 0; reader.hasNext(); i++) {
+            reader.beginObject();
+            while(reader.hasNext()) {
+                if(reader.nextName().equals("username") && i < users.length) {
+                    users[i] = UnparsedUser.of(reader.nextString());
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
         }
+        reader.endArray();
         return users;
     }
 
+    /**
+     * Positions a reader at a field of the <tt>data</tt> object of a board API response
+     * @param response Raw response
+     * @param name Name of the field
+     * @return Reader positioned at the value of the field
+     * @throws MinecraftItaliaException if the response does not contain the field
+     */
+    private static JsonReader readData(Response response, String name) throws MinecraftItaliaException {
+        JsonReader reader = new JsonReader(response.bodyAsBytes());
+        String description = null;
+        reader.beginObject();
+        while(reader.hasNext()) {
+            String field = reader.nextName();
+            if(field.equals("data") && reader.peek() == JsonReader.Token.BEGIN_OBJECT) {
+                reader.beginObject();
+                while(reader.hasNext()) {
+                    if(reader.nextName().equals(name)) return reader;
+                    reader.skipValue();
+                }
+                reader.endObject();
+            } else if(field.equals("descr")) {
+                description = reader.nextString();
+            } else {
+                reader.skipValue();
+            }
+        }
+        throw new MinecraftItaliaException(description != null ? description : "Missing field '" + name + "' in response from " + response.url());
+    }
+
     /**
      * @param fid ID of the category
      * @param page Initial page
      * @return Panel of private messages
      */
     public UserPrivateMessagesPanel getPrivateMessagesPanel(int fid, int page) {
-        return new UserPrivateMessagesPanel(fid, page);
+        return session.call(() -> new UserPrivateMessagesPanel(fid, page));
     }
 
     /**
@@ -417,7 +497,7 @@ public class LoggedUser extends User {
      * @return Panel of private messages
      */
     public UserPrivateMessagesPanel getPrivateMessagesPanel(int fid) {
-        return new UserPrivateMessagesPanel(fid);
+        return session.call(() -> new UserPrivateMessagesPanel(fid));
     }
 
     /**
@@ -425,7 +505,7 @@ public class LoggedUser extends User {
      * @return Panel of private messages
      */
     public UserPrivateMessagesPanel getPrivateMessagesPanel(PrivateMessageCategory category) {
-        return new UserPrivateMessagesPanel(category);
+        return session.call(() -> new UserPrivateMessagesPanel(category));
     }
 
     /**
@@ -434,7 +514,7 @@ public class LoggedUser extends User {
      * @return Panel of private messages
      */
     public UserPrivateMessagesPanel getPrivateMessagesPanel(PrivateMessageCategory category, int page) {
-        return new UserPrivateMessagesPanel(category);
+        return session.call(() -> new UserPrivateMessagesPanel(category));
     }
 
     /**
@@ -442,7 +522,7 @@ public class LoggedUser extends User {
      * @return Private message from ID
      */
     public PrivateMessage getPrivateMessage(long id) {
-        return PrivateMessage.fromId(id);
+        return session.call(() -> PrivateMessage.fromId(id));
     }
 
     /**
@@ -451,12 +531,12 @@ public class LoggedUser extends User {
      * @throws PrivateMessage.PrivateMessageException if there are some errors that must be fixed in the message
      */
     public void sendPrivateMessage(PrivateMessage.New message) throws PrivateMessage.PrivateMessageException {
-        Document document = new HttpConnection("https://www.minecraft-italia.it/forum/private.php").connect()
+        Document document = new HttpConnection(Urls.of("/forum/private.php"), session).connect()
                 .data("action", "do_send")
                 .data("bcc", "")
                 .data("do", "")
                 .data("message", message.getText())
-                .data("my_post_key", postKey)
+                .data("my_post_key", session.getPostKey())
                 .data("options[disablesmilies]", message.isDisableSmilies() ? "1" : "0")
                 .data("options[readreceipt]", message.isReadReceipt() ? "1" : "0")
                 .data("options[savecopy]", message.isSaveCopy() ? "1" : "0")
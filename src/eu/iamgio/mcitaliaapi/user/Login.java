@@ -1,7 +1,7 @@
 package eu.iamgio.mcitaliaapi.user;
 
-import eu.iamgio.mcitaliaapi.connection.Cookies;
 import eu.iamgio.mcitaliaapi.connection.HttpConnection;
+import eu.iamgio.mcitaliaapi.connection.Urls;
 import eu.iamgio.mcitaliaapi.exception.MinecraftItaliaException;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
@@ -57,7 +57,7 @@ public class Login {
         if(invalid || !has2fa) {
             throw new MinecraftItaliaException("No authentication code is required");
         }
-        success = new HttpConnection("https://www.minecraft-italia.it/forum/misc.php").connect()
+        success = new HttpConnection(Urls.of("/forum/misc.php"), user.getSession()).connect()
                 .data("action", "mybb2fa")
                 .data("code", code)
                 .data("uid", String.valueOf(user.getUid()))
@@ -68,7 +68,9 @@ public class Login {
     }
 
     /**
-     * Completes the login session
+     * Completes the login session. Its cookies are stored in the {@link LoggedUser#getSession() session} of the user:
+     * use {@link eu.iamgio.mcitaliaapi.connection.Session#setDefault(eu.iamgio.mcitaliaapi.connection.Session)}
+     * to apply them to every request
      * @return Logged user
      * @throws MinecraftItaliaException if the login is invalid
      */
@@ -76,7 +78,7 @@ public class Login {
         if(!success) {
             throw new MinecraftItaliaException("Invalid login");
         }
-        Cookies.cookies = connection.getResponse().cookies();
+        user.getSession().setCookies(connection.getResponse().cookies());
         Document document = connection.get();
         user.logoutUrl = document.getElementsByClass("mdi-exit-to-app").first().parent().attr("href");
         for(Element script : document.getElementsByTag("script")) {
@@ -84,7 +86,7 @@ public class Login {
                 String data = script.data();
                 for(String line : data.split("\n")) {
                     if(line.contains("var my_post_key = ")) {
-                        user.postKey = line.substring("\tvar my_post_key = \"".length(), line.length() - 3);
+                        user.getSession().setPostKey(line.substring("\tvar my_post_key = \"".length(), line.length() - 3));
                         break;
                     }
                 }
@@ -1,6 +1,7 @@
 package eu.iamgio.mcitaliaapi.user;
 
 import eu.iamgio.mcitaliaapi.connection.HttpConnection;
+import eu.iamgio.mcitaliaapi.connection.Urls;
 import eu.iamgio.mcitaliaapi.forum.ForumSubSection;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
@@ -16,7 +17,8 @@ import java.util.Random;
 public class NewTopic {
 
     private HttpConnection connection;
-    private Document document;
+    private List<Prefix> availablePrefixes;
+    private String posthash, attachmentaid, attachmentact, quotedIds;
 
     private LoggedUser user;
     private String title, text;
@@ -29,14 +31,23 @@ public class NewTopic {
         this.title = title;
         this.text = text;
 
-        this.connection = new HttpConnection("https://www.minecraft-italia.it/forum/newthread.php?fid=" + section.getId()).connect();
-        this.document = connection.get();
+        this.connection = new HttpConnection(Urls.of("/forum/newthread.php?fid=") + section.getId(), user.getSession()).connect();
+        Document document = connection.get();
+        this.availablePrefixes = parsePrefixes(document);
+        this.posthash = document.select("input[name=posthash]").attr("value");
+        this.attachmentaid = document.select("input[name=attachmentaid]").attr("value");
+        this.attachmentact = document.select("input[name=attachmentact]").attr("value");
+        this.quotedIds = document.select("input[name=quoted_ids]").attr("value");
     }
 
     /**
      * @return Available prefixes for the topic
      */
     public List<Prefix> getAvailablePrefixes() {
+        return new ArrayList<>(availablePrefixes);
+    }
+
+    private static List<Prefix> parsePrefixes(Document document) {
         List<Prefix> prefixes = new ArrayList<>();
         Element prefixesElement = document.select("select[name=threadprefix]").first();
         if(prefixesElement == null) return prefixes;
@@ -71,13 +82,8 @@ public class NewTopic {
      */
     public void create() {
         long boundary = new Random().nextLong();
-        String posthash = document.select("input[name=posthash]").attr("value");
-        String attachmentaid = document.select("input[name=attachmentaid]").attr("value");
-        String attachmentact = document.select("input[name=attachmentact]").attr("value");
-        String quoted_ids = document.select("input[name=quoted_ids]").attr("value");
-
         String requestBody =
-                "-----------------------------" + boundary + "\nContent-Disposition: form-data; name=\"my_post_key\"\n\n" + user.postKey + "\n" +
+                "-----------------------------" + boundary + "\nContent-Disposition: form-data; name=\"my_post_key\"\n\n" + user.getSession().getPostKey() + "\n" +
                         "-----------------------------" + boundary + "\nContent-Disposition: form-data; name=\"threadprefix\"\n\n" + prefixValue + "\n" +
                         "-----------------------------" + boundary + "\nContent-Disposition: form-data; name=\"subject\"\n\n" + title + "\n" +
                         "-----------------------------" + boundary + "\nContent-Disposition: form-data; name=\"message\"\n\n" + text + "\n" +
@@ -88,7 +94,7 @@ public class NewTopic {
                         "-----------------------------" + boundary + "\nContent-Disposition: form-data; name=\"posthash\"\n\n" + posthash + "\n" +
                         "-----------------------------" + boundary + "\nContent-Disposition: form-data; name=\"attachmentaid\"\n\n" + attachmentaid + "\n" +
                         "-----------------------------" + boundary + "\nContent-Disposition: form-data; name=\"attachmentact\"\n\n" + attachmentact + "\n" +
-                        "-----------------------------" + boundary + "\nContent-Disposition: form-data; name=\"quoted_ids\"\n\n" + quoted_ids + "\n" +
+                        "-----------------------------" + boundary + "\nContent-Disposition: form-data; name=\"quoted_ids\"\n\n" + quotedIds + "\n" +
                         "-----------------------------" + boundary + "\nContent-Disposition: form-data; name=\"tid\"\n\n0\n" +
                         "-----------------------------" + boundary + "\nContent-Disposition: form-data; name=\"submit\"\n\nNuova discussione\n" +
                         "-----------------------------" + boundary + "--";
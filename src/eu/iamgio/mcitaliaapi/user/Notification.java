@@ -1,5 +1,7 @@
 package eu.iamgio.mcitaliaapi.user;
 
+import eu.iamgio.mcitaliaapi.connection.json.JsonReader;
+
 import java.util.Date;
 
 /**
@@ -21,6 +23,31 @@ public class Notification {
         this.viewed = viewed;
     }
 
+    /**
+     * Binds a notification object of the notifications API
+     * @param reader Reader positioned at the object
+     * @return Parsed notification
+     */
+    static Notification fromJson(JsonReader reader) {
+        long id = 0, fromUid = 0;
+        String html = null;
+        Date date = null;
+        boolean viewed = false;
+        reader.beginObject();
+        while(reader.hasNext()) {
+            switch(reader.nextName()) {
+                case "id": id = reader.nextLong(); break;
+                case "fromid": fromUid = reader.nextLong(); break;
+                case "notify": html = reader.nextString(); break;
+                case "timestamp": date = new Date(reader.nextLong() * 1000); break;
+                case "viewed": viewed = reader.nextBoolean(); break;
+                default: reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return new Notification(id, fromUid, html, date, viewed);
+    }
+
     /**
      * @return Notification ID
      */
@@ -0,0 +1,15 @@
+package eu.iamgio.mcitaliaapi.user;
+
+/**
+ * Subscriber of the notifications pushed by a {@link NotificationStream}
+ * @author Gio
+ */
+@FunctionalInterface
+public interface NotificationListener {
+
+    /**
+     * Called once for each new notification, from the oldest to the newest
+     * @param notification New notification
+     */
+    void onNotification(Notification notification);
+}
@@ -0,0 +1,152 @@
+package eu.iamgio.mcitaliaapi.user;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Pushes the new notifications of a logged user to its subscribers.
+ * Each poll only asks for the unread count, and notifications are fetched only when it changes.
+ * Notifications are deduplicated by ID, so each one is pushed once
+ * @author Gio
+ */
+public class NotificationStream {
+
+    private static final Logger LOGGER = Logger.getLogger(NotificationStream.class.getName());
+    private static final int MAX_FETCH = 50;
+    private static final int MAX_SEEN = 500;
+
+    private final LoggedUser user;
+    private final long interval;
+    private final List<NotificationListener> listeners = new CopyOnWriteArrayList<>();
+    private volatile Consumer<RuntimeException> errorHandler = e -> LOGGER.log(Level.WARNING, "Notifications check failed", e);
+
+    private final Set<Long> seenIds = new LinkedHashSet<>();
+    private int lastUnreadCount = -1;
+
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * @param user Logged user
+     * @param interval Time in millis between two checks of the unread count
+     */
+    public NotificationStream(LoggedUser user, long interval) {
+        if(interval <= 0) throw new IllegalArgumentException("Invalid interval");
+        this.user = user;
+        this.interval = interval;
+    }
+
+    /**
+     * Subscribes to new notifications
+     * @param listener Listener
+     * @return This for concatenating
+     */
+    public NotificationStream subscribe(NotificationListener listener) {
+        listeners.add(listener);
+        return this;
+    }
+
+    /**
+     * Unsubscribes from new notifications
+     * @param listener Listener
+     */
+    public void unsubscribe(NotificationListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Sets the handler of the failures of background checks and of the exceptions thrown by subscribers.
+     * By default they are logged
+     * @param errorHandler Error handler
+     * @return This for concatenating
+     */
+    public NotificationStream setErrorHandler(Consumer<RuntimeException> errorHandler) {
+        this.errorHandler = errorHandler;
+        return this;
+    }
+
+    /**
+     * Starts checking in background. Subscribers are called from the checking thread
+     * @return This for concatenating
+     */
+    public synchronized NotificationStream start() {
+        if(scheduler == null) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "mcitaliaapi-notifications-" + user.getName());
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.scheduleWithFixedDelay(() -> {
+                try {
+                    poll();
+                } catch(RuntimeException e) {
+                    errorHandler.accept(e);
+                }
+            }, 0, interval, TimeUnit.MILLISECONDS);
+        }
+        return this;
+    }
+
+    /**
+     * Stops checking
+     */
+    public synchronized void stop() {
+        if(scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * @return <tt>true</tt> if the stream is running
+     */
+    public synchronized boolean isRunning() {
+        return scheduler != null;
+    }
+
+    /**
+     * Checks once and pushes new unread notifications to the subscribers. A subscriber throwing an exception does not prevent
+     * the others from being notified: the exception is passed to the error handler
+     * @return New notifications, from the oldest to the newest
+     */
+    public List<Notification> poll() {
+        List<Notification> notifications;
+        synchronized(seenIds) {
+            int unreadCount = user.getUnreadCount().getFirst();
+            if(unreadCount == lastUnreadCount) return Collections.emptyList();
+            // A lower count means that notifications were read: there is nothing new to fetch
+            boolean increased = unreadCount > lastUnreadCount;
+            lastUnreadCount = unreadCount;
+            if(!increased || unreadCount == 0) return Collections.emptyList();
+
+            notifications = new ArrayList<>();
+            for(Notification notification : user.getNotifications(0, Math.min(unreadCount, MAX_FETCH))) {
+                if(notification.isViewed() || !seenIds.add(notification.getId())) continue;
+                notifications.add(notification);
+            }
+            while(seenIds.size() > MAX_SEEN) {
+                seenIds.remove(seenIds.iterator().next());
+            }
+        }
+        notifications.sort((n1, n2) -> Long.compare(n1.getId(), n2.getId()));
+        for(Notification notification : notifications) {
+            for(NotificationListener listener : listeners) {
+                try {
+                    listener.onNotification(notification);
+                } catch(RuntimeException e) {
+                    errorHandler.accept(e);
+                }
+            }
+        }
+        return Collections.unmodifiableList(notifications);
+    }
+}
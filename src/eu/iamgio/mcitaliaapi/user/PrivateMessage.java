@@ -1,16 +1,17 @@
 package eu.iamgio.mcitaliaapi.user;
 
 import eu.iamgio.mcitaliaapi.connection.HttpConnection;
+import eu.iamgio.mcitaliaapi.connection.Urls;
 import eu.iamgio.mcitaliaapi.exception.MinecraftItaliaException;
+import eu.iamgio.mcitaliaapi.metrics.Metrics;
+import eu.iamgio.mcitaliaapi.metrics.Profiler;
+import eu.iamgio.mcitaliaapi.util.AuthorStatistics;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
 
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
-import java.util.Locale;
 
 /**
  * Represents a private text
@@ -57,38 +58,39 @@ public class PrivateMessage {
 
     static PrivateMessage fromId(long id) {
         try {
-            Document document = new HttpConnection("https://www.minecraft-italia.it/forum/private.php?action=read&pmid=" + id).connect().get();
-            Element authorElement = document.getElementsByClass("post_author").first();
-            Element bodyElement = document.getElementsByClass("post_body").first();
-            Element signatureElement = document.getElementsByClass("signature").first();
-            UnparsedUser user = new UnparsedUser(authorElement.getElementsByClass("username-inner").first().text());
-            Element statisticsElement = authorElement.getElementsByClass("author_statistics").first();
-            String[] statisticsParts = statisticsElement.ownText().split(" ");
-            String rawDate = document.getElementsByClass("post_date").first().ownText();
-            int userMessagesCount = Integer.parseInt(statisticsParts[1].replace(",", ""));
-            String rawRegistrationDate = statisticsParts[statisticsParts.length - 2] + " " + statisticsParts[statisticsParts.length - 1];
-            Date registrationDate = null;
+            Document document = new HttpConnection(Urls.of("/forum/private.php?action=read&pmid=") + id).connect().get();
+            long start = System.nanoTime();
+            Profiler.Probe probe = Profiler.start("PrivateMessage.fromId");
             try {
-                registrationDate = new SimpleDateFormat("MMM yyyy", Locale.ENGLISH).parse(rawRegistrationDate);
-            } catch(ParseException e) {
-                e.printStackTrace();
+                Element authorElement = document.getElementsByClass("post_author").first();
+                Element bodyElement = document.getElementsByClass("post_body").first();
+                Element signatureElement = document.getElementsByClass("signature").first();
+                UnparsedUser user = UnparsedUser.of(authorElement.getElementsByClass("username-inner").first().text());
+                Element statisticsElement = authorElement.getElementsByClass("author_statistics").first();
+                String rawDate = document.getElementsByClass("post_date").first().ownText();
+                AuthorStatistics statistics = AuthorStatistics.parse(
+                        statisticsElement,
+                        statisticsElement.getElementsByClass("postbit_userthreads").first(),
+                        statisticsElement.getElementsByClass("postbit_tylreceived").first(),
+                        statisticsElement.getElementsByClass("postbit_tylgiven").first()
+                );
+                List<String> userBadges = new ArrayList<>();
+                for(Element badge : document.getElementsByClass("my-badge-inner")) {
+                    userBadges.add(badge.text());
+                }
+                String userAvatarUrl = authorElement.getElementsByClass("author_avatar").first().getElementsByTag("img").first().attr("src");
+                boolean userOnline = authorElement.getElementsByClass("online-status").first().attr("title").equals("Online");
+                List<UnparsedUser> likeGivers = new ArrayList<>();
+                String plainText = bodyElement.text();
+                String html = bodyElement.html();
+                String userSignatureHtml = signatureElement == null ? "" : signatureElement.html();
+                Metrics.recordParse(PrivateMessage.class, start);
+                return new PrivateMessage(id, plainText, html, user, rawDate,
+                        statistics.getMessagesCount(), statistics.getTopicsCount(), statistics.getLikesReceivedCount(), statistics.getLikedPostsCount(), statistics.getLikesGivenCount(),
+                        userBadges, statistics.getRawRegistrationDate(), statistics.getRegistrationDate(), userAvatarUrl, userOnline, userSignatureHtml);
+            } finally {
+                probe.stop();
             }
-            int userTopicsCount = Integer.parseInt(statisticsElement.getElementsByClass("postbit_userthreads").first().ownText().replace(",", "").split(" ")[1]);
-            String[] likesReceivedParts = statisticsElement.getElementsByClass("postbit_tylreceived").first().ownText().replace(",", "").split(" ");
-            int userLikesReceivedCount = Integer.parseInt(likesReceivedParts[2]);
-            int userLikedPostsCount = Integer.parseInt(likesReceivedParts[4]);
-            int userLikesGivenCount = Integer.parseInt(statisticsElement.getElementsByClass("postbit_tylgiven").first().ownText().replace(",", "").split(" ")[2]);
-            List<String> userBadges = new ArrayList<>();
-            for(Element badge : document.getElementsByClass("my-badge-inner")) {
-                userBadges.add(badge.text());
-            }
-            String userAvatarUrl = authorElement.getElementsByClass("author_avatar").first().getElementsByTag("img").first().attr("src");
-            boolean userOnline = authorElement.getElementsByClass("online-status").first().attr("title").equals("Online");
-            List<UnparsedUser> likeGivers = new ArrayList<>();
-            String plainText = bodyElement.text();
-            String html = bodyElement.html();
-            String userSignatureHtml = signatureElement == null ? "" : signatureElement.html();
-            return new PrivateMessage(id, plainText, html, user, rawDate, userMessagesCount, userTopicsCount, userLikesReceivedCount, userLikedPostsCount, userLikesGivenCount, userBadges, rawRegistrationDate, registrationDate, userAvatarUrl, userOnline, userSignatureHtml);
         } catch(NullPointerException e) {
             return null;
         }
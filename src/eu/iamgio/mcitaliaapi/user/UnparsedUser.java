@@ -1,15 +1,76 @@
 package eu.iamgio.mcitaliaapi.user;
 
+import eu.iamgio.mcitaliaapi.connection.Urls;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
- * General object that represents an user of Minecraft Italia but doesn't connect to its page
+ * General object that represents an user of Minecraft Italia but doesn't connect to its page.
+ * Names are case-insensitive: users with the same name in a different case are equal
  * @author Gio
  */
 public class UnparsedUser {
 
-    private String name;
+    private static final Map<String, PooledUser> pool = new ConcurrentHashMap<>();
+    private static final ReferenceQueue<UnparsedUser> collected = new ReferenceQueue<>();
+
+    private final String name;
+    private final String key;
 
     public UnparsedUser(String name) {
         this.name = name;
+        this.key = name == null ? null : name.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Gets the canonical instance of a user, so that every reference to the same user shares one object and one name.
+     * Instances are weakly held: a user is dropped from the pool once no model references it anymore
+     * @param name User's name
+     * @return Pooled user
+     */
+    public static UnparsedUser of(String name) {
+        if(name == null) return new UnparsedUser(null);
+        purge();
+        PooledUser reference = pool.get(name.toLowerCase(Locale.ROOT));
+        UnparsedUser user = reference == null ? null : reference.get();
+        if(user != null) return user;
+        user = new UnparsedUser(name);
+        PooledUser created = new PooledUser(user);
+        while(true) {
+            PooledUser previous = pool.putIfAbsent(user.key, created);
+            if(previous == null) return user;
+            UnparsedUser existing = previous.get();
+            if(existing != null) return existing;
+            if(pool.replace(user.key, previous, created)) return user;
+        }
+    }
+
+    /**
+     * Removes the entries of the users that were garbage collected
+     */
+    private static void purge() {
+        PooledUser reference;
+        while((reference = (PooledUser) collected.poll()) != null) {
+            pool.remove(reference.key, reference);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if(this == o) return true;
+        if(!(o instanceof UnparsedUser)) return false;
+        return Objects.equals(key, ((UnparsedUser) o).key);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(key);
     }
 
     @Override
@@ -28,7 +89,7 @@ public class UnparsedUser {
      * @return URL of Minecraft skin icon
      */
     public String getMinecraftSkinIconUrl() {
-        return "https://www.minecraft-italia.it/utils/minepic_avatar/" + name;
+        return Urls.of("/utils/minepic_avatar/") + name;
     }
 
     /**
@@ -37,4 +98,24 @@ public class UnparsedUser {
     public User toParsedUser() {
         return User.fromName(name);
     }
+
+    /**
+     * @return Future of {@link #toParsedUser()}
+     */
+    public CompletableFuture<User> toParsedUserAsync() {
+        return User.fromNameAsync(name);
+    }
+
+    /**
+     * Weak reference to a pooled user, remembering its key so that it can be removed once collected
+     */
+    private static class PooledUser extends WeakReference<UnparsedUser> {
+
+        private final String key;
+
+        private PooledUser(UnparsedUser user) {
+            super(user, collected);
+            this.key = user.key;
+        }
+    }
 }
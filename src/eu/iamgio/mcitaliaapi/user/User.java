@@ -3,20 +3,26 @@ package eu.iamgio.mcitaliaapi.user;
 import eu.iamgio.mcitaliaapi.board.Board;
 import eu.iamgio.mcitaliaapi.board.BoardPost;
 import eu.iamgio.mcitaliaapi.connection.HttpConnection;
+import eu.iamgio.mcitaliaapi.connection.Session;
+import eu.iamgio.mcitaliaapi.connection.Urls;
+import eu.iamgio.mcitaliaapi.connection.Validators;
 import eu.iamgio.mcitaliaapi.connection.json.JSONParser;
 import eu.iamgio.mcitaliaapi.exception.MinecraftItaliaException;
-import eu.iamgio.mcitaliaapi.util.Utils;
+import eu.iamgio.mcitaliaapi.metrics.Metrics;
+import eu.iamgio.mcitaliaapi.util.Async;
+import eu.iamgio.mcitaliaapi.util.PagedIterable;
 import org.json.simple.JSONArray;
 import org.json.simple.JSONObject;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
-import org.jsoup.select.Elements;
 
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Represents an user of Minecraft Italia
@@ -25,53 +31,123 @@ import java.util.List;
 public class User {
 
     private String url;
-    protected Document document;
+    private volatile UserProfile profile;
+    private Validators validators;
 
-    private String name;
+    private volatile String name;
     private Long uid;
 
-    User(String name) {
+    private final ReentrantLock lock = new ReentrantLock();
+
+    User(String name, boolean lazy) {
         this.name = name;
-        this.url = "https://www.minecraft-italia.it/user/" + name;
-        this.update();
-        this.uid = getUid();
+        this.url = Urls.of("/user/") + name;
+        if(!lazy) {
+            this.update();
+            this.uid = profile.uid;
+        }
     }
 
-    User(long uid) {
+    User(long uid, boolean lazy) {
         this.uid = uid;
-        this.url = "https://www.minecraft-italia.it/user/id/" + uid;
-        this.update();
-        this.name = getName();
+        this.url = Urls.of("/user/id/") + uid;
+        if(!lazy) {
+            this.update();
+        }
     }
 
-    /**
-     * Updates connection
-     */
-    public void update() {
-        this.document = new HttpConnection(url).connect().get();
+    User(String name) {
+        this(name, false);
     }
 
-    private Element getStatisticsRowProperty(int index) {
-        return document.getElementsByClass("profile-counts forms").first().child(0).child(index);
+    User(long uid) {
+        this(uid, false);
     }
 
-    private Element getInfoProperty(String key) {
-        Element table = document.getElementsByClass("profile-more-info").first()
-                .getElementsByClass("collection-item").first();
-        for(Element element : table.getElementsByClass("row")) {
-            if(element.child(0).text().equals(key)) {
-                return element.child(1);
+    /**
+     * Updates connection. The profile page is parsed once and then released.
+     * It is downloaded and parsed again only if it changed since the last update.
+     * Concurrent updates are serialized by a private lock, which does not pin virtual threads during the request
+     * @return <tt>true</tt> if the profile changed
+     * @throws NullPointerException if the user does not exist
+     */
+    public boolean update() throws NullPointerException {
+        lock.lock();
+        try {
+            HttpConnection connection = new HttpConnection(url).connect();
+            Document document = connection.getIfModified(profile == null ? null : validators);
+            if(document == null) return false;
+            long start = System.nanoTime();
+            this.profile = new UserProfile(document);
+            Metrics.recordParse(User.class, start);
+            if(name == null) this.name = profile.name;
+            this.validators = connection.getValidators();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return Profile snapshot, fetched on first access if this user is lazy
+     * @throws MinecraftItaliaException if the user does not exist
+     */
+    private UserProfile profile() throws MinecraftItaliaException {
+        UserProfile profile = this.profile;
+        if(profile == null) {
+            lock.lock();
+            try {
+                if(this.profile == null) {
+                    try {
+                        update();
+                    } catch(NullPointerException e) {
+                        throw new MinecraftItaliaException("Could not find user '" + (name == null ? uid : name) + "'");
+                    }
+                }
+                profile = this.profile;
+            } finally {
+                lock.unlock();
             }
         }
-        return null;
+        return profile;
     }
 
 
     /**
      * @param name User's name
-     * @return User by name. <tt>null</tt> if it does not exist
+     * @return User by name, from {@link UserCache#getDefault()} if enabled. <tt>null</tt> if it does not exist
      */
     public static User fromName(String name) {
+        UserCache cache = UserCache.getDefault();
+        return cache == null ? fetch(name) : cache.getByName(name);
+    }
+
+    /**
+     * @param uid User's unique ID
+     * @return User by UID, from {@link UserCache#getDefault()} if enabled. <tt>null</tt> if it does not exist
+     */
+    public static User fromUid(long uid) {
+        UserCache cache = UserCache.getDefault();
+        return cache == null ? fetch(uid) : cache.getByUid(uid);
+    }
+
+    /**
+     * @param name User's name
+     * @return User by name, whose profile is fetched only when one of its fields is first requested
+     */
+    public static User fromNameLazy(String name) {
+        return new User(name, true);
+    }
+
+    /**
+     * @param uid User's unique ID
+     * @return User by UID, whose profile is fetched only when one of its fields is first requested
+     */
+    public static User fromUidLazy(long uid) {
+        return new User(uid, true);
+    }
+
+    static User fetch(String name) {
         try {
             return new User(name);
         } catch(NullPointerException e) {
@@ -79,11 +155,7 @@ public class User {
         }
     }
 
-    /**
-     * @param uid User's unique ID
-     * @return User by UID. <tt>null</tt> if it does not exist
-     */
-    public static User fromUid(long uid) {
+    static User fetch(long uid) {
         try {
             return new User(uid);
         } catch(NullPointerException e) {
@@ -92,12 +164,29 @@ public class User {
     }
 
     /**
-     * Logins
+     * @param name User's name
+     * @return Future of {@link #fromName(String)}
+     */
+    public static CompletableFuture<User> fromNameAsync(String name) {
+        return Async.supply(() -> fromName(name));
+    }
+
+    /**
+     * @param uid User's unique ID
+     * @return Future of {@link #fromUid(long)}
+     */
+    public static CompletableFuture<User> fromUidAsync(long uid) {
+        return Async.supply(() -> fromUid(uid));
+    }
+
+    /**
+     * Logins in a new {@link Session}
      * @param password Password
      * @return New login session
      */
     public Login login(String password) {
-        HttpConnection connection = new HttpConnection("https://www.minecraft-italia.it/forum/member.php").connect();
+        Session session = new Session();
+        HttpConnection connection = new HttpConnection(Urls.of("/forum/member.php"), session).connect();
         Document documentDummy = connection.data("action", "do_login").post();
         String postKey = documentDummy.select("input[name=my_post_key]").attr("value");
         Document document = connection
@@ -106,8 +195,8 @@ public class User {
                 .data("password", password)
                 .data("remember", "yes")
                 .data("submit", "Accedi")
-                .data("url", "//www.minecraft-italia.it/forum")
-                .data("username", name)
+                .data("url", Urls.of("/forum").replaceFirst("^[a-z]+:", ""))
+                .data("username", getName())
                 .post();
         byte status = 0;
         if(document.getElementById("modal-2fa") != null) {
@@ -115,19 +204,20 @@ public class User {
         } else if(document.getElementById("dropdown-profile-menu") == null) {
             status = 2;
         }
-        return new Login(new LoggedUser(this.name), connection, status);
+        return new Login(new LoggedUser(getName(), session), connection, status);
     }
 
     @Override
     public boolean equals(Object obj) {
-        return obj instanceof User && name.equalsIgnoreCase(((User) obj).name);
+        return obj instanceof User && getName().equalsIgnoreCase(((User) obj).getName());
     }
 
     /**
      * @return User's name
      */
     public String getName() {
-        return document.getElementsByClass("username").first().text();
+        if(name != null && profile == null) return name;
+        return profile().name;
     }
 
     /**
@@ -135,7 +225,7 @@ public class User {
      */
     public long getUid() {
         if(uid == null) {
-            uid = Long.parseLong(document.getElementById("users").attr("data-uid"));
+            uid = profile().uid;
         }
         return uid;
     }
@@ -144,88 +234,84 @@ public class User {
      * @return <tt>true</tt> if the user is online
      */
     public boolean isOnline() {
-        Element element = document.getElementsByClass("profile-info").first().getElementsByClass("color-online").first();
-        return element != null && element.text().equals("Online");
+        return profile().online;
     }
 
     /**
      * @return <tt>true</tt> if the user's profile is private
      */
     public boolean isPrivate() {
-        return document.getElementsByClass("forms-content").size() > 0;
+        return profile().privateProfile;
     }
 
     /**
      * @return URL of user's avatar
      */
     public String getAvatarUrl() {
-        return document.getElementsByClass("avatar").first().getElementsByTag("img").first().attr("src");
+        return profile().avatarUrl;
     }
 
     /**
      * @return User's messages count
      */
     public int getMessagesCount() {
-        return Integer.parseInt(getStatisticsRowProperty(0).ownText());
+        return profile().messagesCount;
     }
 
     /**
      * @return User's reputation
      */
     public int getReputationScore() {
-        return Integer.parseInt(getStatisticsRowProperty(1).child(1).text());
+        return profile().reputationScore;
     }
 
     /**
      * @return User's resources count
      */
     public int getResourcesCount() {
-        return Integer.parseInt(getStatisticsRowProperty(2).ownText());
+        return profile().resourcesCount;
     }
 
     /**
      * @return User's revisions count
      */
     public int getRevisionsCount() {
-        return Integer.parseInt(getStatisticsRowProperty(3).ownText());
+        return profile().revisionsCount;
     }
 
     /**
      * @return User's followed users count
      */
     public int getFollowedCount() {
-        return Integer.parseInt(document.getElementsByClass("col-sm-8").first().getElementsByTag("b").get(0).ownText());
+        return profile().followedCount;
     }
 
     /**
      * @return User's followers count
      */
     public int getFollowersCount() {
-        return Integer.parseInt(document.getElementsByClass("col-sm-8").first().getElementsByTag("b").get(1).ownText());
+        return profile().followersCount;
     }
 
     /**
      * @return <tt>true</tt> if the user has linked a Minecraft account
      */
     public boolean hasMinecraftAccount() {
-        return document.getElementsByClass("profile-info").first().getElementsByClass("username").size() > 0;
+        return profile().minecraftUsername != null;
     }
 
     /**
      * @return User's Minecraft username. <tt>null</tt> if the user hasn't a linked Minecraft account
      */
     public String getMinecraftUsername() {
-        Elements names = document.getElementsByClass("profile-info").first().getElementsByClass("username");
-        if(names.size() == 0) return null;
-        return names.first().text();
+        return profile().minecraftUsername;
     }
 
     /**
      * @return User's Minecraft skin (head). <tt>null</tt> if the user hasn't a linked Minecraft account
      */
     public String getMinecraftSkinUrl() {
-        if(!hasMinecraftAccount()) return null;
-        return document.getElementsByClass("profile-info").first().getElementsByTag("img").first().attr("src");
+        return profile().minecraftSkinUrl;
     }
 
     /**
@@ -244,48 +330,37 @@ public class User {
      * @return User's biography. <tt>null</tt> if the user hasn't a saved biography
      */
     public String getBio() {
-        Elements bio = document.getElementsByClass("profile-bio");
-        if(bio.size() == 0) return null;
-        return bio.first().getElementsByClass("collection-item").first().ownText();
+        return profile().bio;
     }
 
     /**
      * @return User's average messages-per-day count. <tt>null</tt> if this information cannot be retrieved
      */
     public Float getMessagesPerDayCount() {
-        Element element = getInfoProperty("Messaggi");
-        if(element == null) return null;
-        try {
-            return Float.parseFloat(element.text().split("\\(")[1].split(" ")[0]);
-        } catch(ArrayIndexOutOfBoundsException e) {
-            return 0F;
-        }
+        return profile().messagesPerDayCount;
     }
 
     /**
      * @return Date of user's registration. <tt>null</tt> if this information cannot be retrieved
      */
     public Date getRegistrationDate() {
-        Element element = getInfoProperty("Iscritto dal");
-        if(element == null) return null;
-        return Utils.getDateByTimestamp(element.child(0).attr("data-timestamp"));
+        Long date = profile().registrationDate;
+        return date == null ? null : new Date(date);
     }
 
     /**
      * @return Date of user's last visit. <tt>null</tt> if this information cannot be retrieved
      */
     public Date getLastVisitDate() {
-        Element element = getInfoProperty("Ultima visita");
-        if(element == null) return null;
-        return Utils.getDateByTimestamp(element.child(0).attr("data-timestamp"));
+        Long date = profile().lastVisitDate;
+        return date == null ? null : new Date(date);
     }
 
     /**
      * @return Time the user has spent online, unparsed. <tt>null</tt> if this information cannot be retrieved
      */
     public String getRawOnlineTime() {
-        Element element = getInfoProperty("Tempo online");
-        return element == null ? null : element.text();
+        return profile().rawOnlineTime;
     }
 
     /**
@@ -334,42 +409,28 @@ public class User {
      * @return User's gender. <tt>null</tt> if the user hasn't specified this value
      */
     public Gender getGender() {
-        Element element = getInfoProperty("Sesso");
-        return element == null ? null : element.text().equals("Maschio") ? Gender.MALE : Gender.FEMALE;
+        return profile().gender;
     }
 
     /**
      * @return User's provenance. <tt>null</tt> if the user hasn't specified this value
      */
     public String getProvenance() {
-        Element element = getInfoProperty("Provenienza");
-        return element == null ? null : element.text();
+        return profile().provenance;
     }
 
     /**
      * @return User's badges
      */
     public List<String> getBadges() {
-        List<String> badges = new ArrayList<>();
-        for(Element element : document.getElementsByClass("badges-container").first().children()) {
-            badges.add(element.text());
-        }
-        return badges;
+        return profile().badges;
     }
 
     /**
      * @return User's social networks as TYPE=url
      */
     public HashMap<SocialNetwork, String> getSocialNetworks() {
-        HashMap<SocialNetwork, String> socials = new HashMap<>();
-        for(Element element : document.getElementsByClass("social").first().children()) {
-            String attr = element.attr("class");
-            socials.put(
-                    SocialNetwork.valueOf(attr.substring("profile_".length(), attr.length()).toUpperCase()),
-                    element.attr("href")
-            );
-        }
-        return socials;
+        return new HashMap<>(profile().socialNetworks);
     }
 
     /**
@@ -378,12 +439,12 @@ public class User {
      */
     public List<UnparsedUser> getFriends() throws MinecraftItaliaException {
         List<UnparsedUser> friends = new ArrayList<>();
-        String url = "https://www.minecraft-italia.it/board/get_user_friends?filter[uid]=" + getUid() + "&start=0";
+        String url = Urls.of("/board/get_user_friends?filter[uid]=") + getUid() + "&start=0";
         JSONObject object = new JSONParser(url).parse();
         if(object.get("status").toString().equals("error")) throw new MinecraftItaliaException(object.get("descr").toString());
         JSONArray array = (JSONArray) object.get("data");
         for(Object obj : array) {
-            friends.add(new UnparsedUser(((JSONObject) obj).get("username").toString()));
+            friends.add(UnparsedUser.of(((JSONObject) obj).get("username").toString()));
         }
         return friends;
     }
@@ -392,7 +453,7 @@ public class User {
      * @return User's first 15 board posts
      */
     public List<BoardPost> getBoardPosts() {
-        return Board.getBoardPosts("https://www.minecraft-italia.it/board/get_posts?filter[type]=private&filter[uid]=" + getUid() + "&start=0");
+        return Board.getBoardPosts(Urls.of("/board/get_posts?filter[type]=private&filter[uid]=") + getUid() + "&start=0");
     }
 
     /**
@@ -400,14 +461,29 @@ public class User {
      * @return User's 15 board posts after <tt>start</tt>
      */
     public List<BoardPost> getBoardPosts(BoardPost start) {
-        return Board.getBoardPosts("https://www.minecraft-italia.it/board/get_posts?filter[type]=private&filter[uid]=" + getUid() + "&start=" + start.getId());
+        return Board.getBoardPosts(Urls.of("/board/get_posts?filter[type]=private&filter[uid]=") + getUid() + "&start=" + start.getId());
+    }
+
+    /**
+     * @param readAhead Amount of pages to fetch in advance
+     * @return Lazy sequence of every board post of the user
+     */
+    public PagedIterable<BoardPost> iterateBoardPosts(int readAhead) {
+        return Board.iterateBoardPosts(Urls.of("/board/get_posts?filter[type]=private&filter[uid]=") + getUid() + "&start=", readAhead);
+    }
+
+    /**
+     * @return Lazy sequence of every board post of the user, fetching one page in advance
+     */
+    public PagedIterable<BoardPost> iterateBoardPosts() {
+        return iterateBoardPosts(1);
     }
 
     /**
      * @return First 15 posts where the user is target
      */
     public List<BoardPost> getTargetedBoardPosts() {
-        return Board.getBoardPosts("https://www.minecraft-italia.it/board/get_posts?filter[type]=private-with-replies&filter[uid]=" + getUid() + "&start=0");
+        return Board.getBoardPosts(Urls.of("/board/get_posts?filter[type]=private-with-replies&filter[uid]=") + getUid() + "&start=0");
     }
 
     /**
@@ -415,7 +491,22 @@ public class User {
      * @return 15 posts afer <tt>start</tt> where the user is target
      */
     public List<BoardPost> getTargetedBoardPosts(BoardPost start) {
-        return Board.getBoardPosts("https://www.minecraft-italia.it/board/get_posts?filter[type]=private-with-replies&filter[uid]=" + getUid() + "&start=" + start.getId());
+        return Board.getBoardPosts(Urls.of("/board/get_posts?filter[type]=private-with-replies&filter[uid]=") + getUid() + "&start=" + start.getId());
+    }
+
+    /**
+     * @param readAhead Amount of pages to fetch in advance
+     * @return Lazy sequence of every board post where the user is target
+     */
+    public PagedIterable<BoardPost> iterateTargetedBoardPosts(int readAhead) {
+        return Board.iterateBoardPosts(Urls.of("/board/get_posts?filter[type]=private-with-replies&filter[uid]=") + getUid() + "&start=", readAhead);
+    }
+
+    /**
+     * @return Lazy sequence of every board post where the user is target, fetching one page in advance
+     */
+    public PagedIterable<BoardPost> iterateTargetedBoardPosts() {
+        return iterateTargetedBoardPosts(1);
     }
 
     /**
@@ -423,7 +514,7 @@ public class User {
      * @throws MinecraftItaliaException if an error occurred
      */
     public List<String[]> getServers() throws MinecraftItaliaException {
-        JSONObject json = new JSONParser("https://www.minecraft-italia.it/user/index_ajax/" + name + "/servers").parse();
+        JSONObject json = new JSONParser(Urls.of("/user/index_ajax/") + getName() + "/servers").parse();
         if(json.get("status").toString().equals("error")) throw new MinecraftItaliaException(json.get("descr").toString());
         JSONObject data = (JSONObject) json.get("data");
         Document document = Jsoup.parse(data.get("html").toString());
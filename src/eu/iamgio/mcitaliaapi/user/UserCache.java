@@ -0,0 +1,230 @@
+package eu.iamgio.mcitaliaapi.user;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache of parsed users with time-to-live and least-recently-used eviction.
+ * Users are reachable by both name (case insensitive) and UID.
+ * Concurrent lookups of the same missing user share a single request.
+ * Once set via {@link #setDefault(UserCache)}, it is used by {@link User#fromName(String)} and {@link User#fromUid(long)}
+ * @author Gio
+ */
+public class UserCache {
+
+    private static volatile UserCache defaultCache;
+
+    private final int maxSize;
+    private final long ttl;
+
+    private final LinkedHashMap<String, CachedUser> users;
+    private final Map<Long, String> namesByUid = new HashMap<>();
+    private final Map<String, CompletableFuture<User>> inFlight = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong(), misses = new AtomicLong(), evictions = new AtomicLong(), coalesced = new AtomicLong();
+
+    /**
+     * @param maxSize Max amount of cached users
+     * @param ttl Time in millis after which a cached user is fetched again
+     */
+    public UserCache(int maxSize, long ttl) {
+        if(maxSize <= 0 || ttl <= 0) throw new IllegalArgumentException("Invalid cache settings");
+        this.maxSize = maxSize;
+        this.ttl = ttl;
+        this.users = new LinkedHashMap<String, CachedUser>(16, 0.75F, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedUser> eldest) {
+                if(size() > UserCache.this.maxSize) {
+                    namesByUid.remove(eldest.getValue().uid);
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * @return Cache used by {@link User#fromName(String)} and {@link User#fromUid(long)}. <tt>null</tt> if caching is disabled (default)
+     */
+    public static UserCache getDefault() {
+        return defaultCache;
+    }
+
+    /**
+     * Sets the cache used by {@link User#fromName(String)} and {@link User#fromUid(long)}
+     * @param cache Cache. <tt>null</tt> to disable caching
+     */
+    public static void setDefault(UserCache cache) {
+        defaultCache = cache;
+    }
+
+    /**
+     * @param name User's name
+     * @return Cached user, fetched if missing or expired. <tt>null</tt> if it does not exist
+     */
+    public User getByName(String name) {
+        String key = name.toLowerCase(Locale.ROOT);
+        User user = getCached(key);
+        if(user != null) return user;
+        return load("name:" + key, () -> User.fetch(name));
+    }
+
+    /**
+     * @param uid User's unique ID
+     * @return Cached user, fetched if missing or expired. <tt>null</tt> if it does not exist
+     */
+    public User getByUid(long uid) {
+        String key;
+        synchronized(this) {
+            key = namesByUid.get(uid);
+        }
+        User user = key == null ? null : getCached(key);
+        if(user != null) return user;
+        if(key == null) misses.incrementAndGet();
+        return load("uid:" + uid, () -> User.fetch(uid));
+    }
+
+    /**
+     * Removes a user from the cache
+     * @param name User's name
+     */
+    public synchronized void invalidate(String name) {
+        CachedUser entry = users.remove(name.toLowerCase(Locale.ROOT));
+        if(entry != null) namesByUid.remove(entry.uid);
+    }
+
+    /**
+     * Removes every user from the cache
+     */
+    public synchronized void clear() {
+        users.clear();
+        namesByUid.clear();
+    }
+
+    /**
+     * @return Amount of cached users
+     */
+    public synchronized int size() {
+        return users.size();
+    }
+
+    /**
+     * Removes expired users from the cache
+     */
+    public synchronized void cleanUp() {
+        long now = System.currentTimeMillis();
+        Iterator<CachedUser> iterator = users.values().iterator();
+        while(iterator.hasNext()) {
+            CachedUser entry = iterator.next();
+            if(entry.isExpired(now)) {
+                namesByUid.remove(entry.uid);
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * @return Amount of lookups answered from the cache
+     */
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    /**
+     * @return Amount of lookups that required a request (including coalesced ones)
+     */
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    /**
+     * @return Amount of users removed because the cache was full
+     */
+    public long getEvictionCount() {
+        return evictions.get();
+    }
+
+    /**
+     * @return Amount of lookups that waited for a request already started by another thread
+     */
+    public long getCoalescedCount() {
+        return coalesced.get();
+    }
+
+    private synchronized User getCached(String key) {
+        CachedUser entry = users.get(key);
+        if(entry == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        if(entry.isExpired(System.currentTimeMillis())) {
+            users.remove(key);
+            namesByUid.remove(entry.uid);
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return entry.user;
+    }
+
+    private synchronized void put(User user) {
+        String key = user.getName().toLowerCase(Locale.ROOT);
+        long uid = user.getUid();
+        users.put(key, new CachedUser(user, uid, System.currentTimeMillis() + ttl));
+        namesByUid.put(uid, key);
+    }
+
+    private User load(String key, Supplier<User> loader) {
+        CompletableFuture<User> future = new CompletableFuture<>();
+        CompletableFuture<User> existing = inFlight.putIfAbsent(key, future);
+        if(existing != null) {
+            coalesced.incrementAndGet();
+            try {
+                return existing.join();
+            } catch(CompletionException e) {
+                if(e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+                if(e.getCause() instanceof Error) throw (Error) e.getCause();
+                throw e;
+            }
+        }
+        try {
+            User user = loader.get();
+            if(user != null) put(user);
+            future.complete(user);
+            return user;
+        } catch(Throwable e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    private static class CachedUser {
+
+        private final User user;
+        private final long uid;
+        private final long expiration;
+
+        private CachedUser(User user, long uid, long expiration) {
+            this.user = user;
+            this.uid = uid;
+            this.expiration = expiration;
+        }
+
+        private boolean isExpired(long now) {
+            return now >= expiration;
+        }
+    }
+}
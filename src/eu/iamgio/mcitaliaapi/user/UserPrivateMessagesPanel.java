@@ -1,7 +1,12 @@
 package eu.iamgio.mcitaliaapi.user;
 
 import eu.iamgio.mcitaliaapi.connection.HttpConnection;
+import eu.iamgio.mcitaliaapi.connection.Urls;
+import eu.iamgio.mcitaliaapi.exception.MinecraftItaliaException;
+import eu.iamgio.mcitaliaapi.metrics.Metrics;
+import eu.iamgio.mcitaliaapi.metrics.Profiler;
 import eu.iamgio.mcitaliaapi.util.Pair;
+import eu.iamgio.mcitaliaapi.util.Utils;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
 import org.jsoup.select.Elements;
@@ -10,15 +15,28 @@ import java.util.ArrayList;
 import java.util.List;
 
 /**
- * User's panel containing private messages
+ * User's panel containing private messages.
+ * Its page is parsed once on creation, so that no DOM is retained
  * @author Gio
  */
 public class UserPrivateMessagesPanel {
 
-    private Document document;
+    private String name;
+    private int pagesCount;
+    private Integer usedSpacePerc;
+    private List<Pair<String, Integer>> messageCategories;
+    private List<ListedPrivateMessage> privateMessages;
 
     UserPrivateMessagesPanel(int fid, int page) {
-        this.document = new HttpConnection("https://www.minecraft-italia.it/forum/private.php?fid=" + fid + "&page=" + page).connect().get();
+        Document document = new HttpConnection(Urls.of("/forum/private.php?fid=") + fid + "&page=" + page).connect().get();
+        long start = System.nanoTime();
+        this.name = document.getElementsByClass("heading no-margin-top").text();
+        Integer pagesCount = Utils.tryExtract(() -> parsePagesCount(document));
+        this.pagesCount = pagesCount == null ? 1 : pagesCount;
+        this.usedSpacePerc = Utils.tryExtract(() -> Integer.parseInt(document.getElementsByClass("pmspace_text").text().replaceAll("[^\\d]", "")));
+        this.messageCategories = Utils.tryExtract(() -> parseMessageCategories(document));
+        this.privateMessages = Utils.tryExtract(() -> parsePrivateMessages(document));
+        Metrics.recordParse(UserPrivateMessagesPanel.class, start);
     }
 
     UserPrivateMessagesPanel(int fid) {
@@ -37,55 +55,79 @@ public class UserPrivateMessagesPanel {
      * @return Panel name
      */
     public String getName() {
-        return document.getElementsByClass("heading no-margin-top").text();
+        return name;
     }
 
     /**
      * @return Amount of available pages
      */
     public int getPagesCount() {
-        Element pagesElement = document.getElementsByClass("pagination").first();
-        if(pagesElement == null) return 1;
-        Elements pages = pagesElement.children();
-        if(pages.size() <= 1) return 1;
-        return Integer.parseInt(pages.get(pages.size() - 2).text());
+        return pagesCount;
     }
 
     /**
      * @return Percentage of used space
+     * @throws MinecraftItaliaException if it could not be found
      */
-    public int getUsedSpacePerc() {
-        return Integer.parseInt(document.getElementsByClass("pmspace_text").text().replaceAll("[^\\d]", ""));
+    public int getUsedSpacePerc() throws MinecraftItaliaException {
+        if(usedSpacePerc == null) throw new MinecraftItaliaException("Could not find the used space.");
+        return usedSpacePerc;
     }
 
     /**
      * @return Message categories as [name, ID]
+     * @throws MinecraftItaliaException if they could not be parsed
      */
-    public List<Pair<String, Integer>> getMessageCategories() {
-        final String s = "https://www.minecraft-italia.it/forum/private.php?fid=";
+    public List<Pair<String, Integer>> getMessageCategories() throws MinecraftItaliaException {
+        if(messageCategories == null) throw new MinecraftItaliaException("Could not parse the message categories.");
+        return new ArrayList<>(messageCategories);
+    }
+
+    /**
+     * @return Private messages (in the selected page)
+     * @throws MinecraftItaliaException if they could not be parsed
+     */
+    public List<ListedPrivateMessage> getPrivateMessages() throws MinecraftItaliaException {
+        if(privateMessages == null) throw new MinecraftItaliaException("Could not parse the private messages.");
+        return new ArrayList<>(privateMessages);
+    }
+
+    private static int parsePagesCount(Document document) {
+        Element pagesElement = document.getElementsByClass("pagination").first();
+        if(pagesElement == null) return 1;
+        Elements pages = pagesElement.children();
+        if(pages.size() <= 1) return 1;
+        return Integer.parseInt(pages.get(pages.size() - 2).text());
+    }
+
+    private static List<Pair<String, Integer>> parseMessageCategories(Document document) {
+        // Matched on the path only, since links may point to a different host than the base URL
+        final String s = "/forum/private.php?fid=";
         List<Pair<String, Integer>> categories = new ArrayList<>();
-        for(Element element : document.getElementById("nav-left").getElementsByAttributeValueStarting("href", s)) {
+        for(Element element : document.getElementById("nav-left").getElementsByAttributeValueContaining("href", s)) {
             String url = element.attr("href");
-            categories.add(new Pair<>(element.text(), Integer.parseInt(url.substring(s.length(), url.length()))));
+            categories.add(new Pair<>(element.text(), Integer.parseInt(url.substring(url.indexOf(s) + s.length()))));
         }
         return categories;
     }
 
-    /**
-     * @return Private messages (in the selected page)
-     */
-    public List<ListedPrivateMessage> getPrivateMessages() {
-        List<ListedPrivateMessage> messages = new ArrayList<>();
-        for(Element element : document.getElementsByClass("pm")) {
-            Element titleElement = element.getElementsByClass("pm-title").first();
-            String subject = titleElement.text();
-            String url = titleElement.getElementsByTag("a").first().attr("href");
-            long id = Long.parseLong(url.substring("private.php?action=read&pmid=".length(), url.length()));
-            UnparsedUser user = new UnparsedUser(element.getElementsByClass("pm-author").text());
-            String rawDate = element.getElementsByClass("pm-lastpost-date").text();
-            boolean read = element.getElementsByClass("pm-icon").first().attr("data-tooltip").equals("Messaggi vecchi");
-            messages.add(new ListedPrivateMessage(subject, user, id, rawDate, read));
+    private static List<ListedPrivateMessage> parsePrivateMessages(Document document) {
+        Profiler.Probe probe = Profiler.start("UserPrivateMessagesPanel.getPrivateMessages");
+        try {
+            List<ListedPrivateMessage> messages = new ArrayList<>();
+            for(Element element : document.getElementsByClass("pm")) {
+                Element titleElement = element.getElementsByClass("pm-title").first();
+                String subject = titleElement.text();
+                String url = titleElement.getElementsByTag("a").first().attr("href");
+                long id = Long.parseLong(url.substring("private.php?action=read&pmid=".length(), url.length()));
+                UnparsedUser user = UnparsedUser.of(element.getElementsByClass("pm-author").text());
+                String rawDate = element.getElementsByClass("pm-lastpost-date").text();
+                boolean read = element.getElementsByClass("pm-icon").first().attr("data-tooltip").equals("Messaggi vecchi");
+                messages.add(new ListedPrivateMessage(subject, user, id, rawDate, read));
+            }
+            return messages;
+        } finally {
+            probe.stop();
         }
-        return messages;
     }
 }
@@ -0,0 +1,123 @@
+package eu.iamgio.mcitaliaapi.user;
+
+import eu.iamgio.mcitaliaapi.util.Utils;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.select.Elements;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of the fields of a user's profile page, extracted once so that the page can be released.
+ * Fields that cannot be found in the page are <tt>null</tt>
+ * @author Gio
+ */
+final class UserProfile {
+
+    final String name;
+    final long uid;
+    final boolean online, privateProfile;
+    final String avatarUrl;
+    final Integer messagesCount, reputationScore, resourcesCount, revisionsCount, followedCount, followersCount;
+    final String minecraftUsername, minecraftSkinUrl;
+    final String bio;
+    final Float messagesPerDayCount;
+    final Long registrationDate, lastVisitDate;
+    final String rawOnlineTime;
+    final User.Gender gender;
+    final String provenance;
+    final List<String> badges;
+    final Map<User.SocialNetwork, String> socialNetworks;
+
+    /**
+     * Extracts every field from a profile page
+     * @param document Profile page
+     * @throws NullPointerException if the page does not represent an existing user
+     */
+    UserProfile(Document document) throws NullPointerException {
+        name = document.getElementsByClass("username").first().text();
+        uid = Long.parseLong(document.getElementById("users").attr("data-uid"));
+        Element profileInfo = document.getElementsByClass("profile-info").first();
+        online = Utils.tryExtract(() -> {
+            Element element = profileInfo.getElementsByClass("color-online").first();
+            return element != null && element.text().equals("Online");
+        }) == Boolean.TRUE;
+        privateProfile = document.getElementsByClass("forms-content").size() > 0;
+        avatarUrl = Utils.tryExtract(() -> document.getElementsByClass("avatar").first().getElementsByTag("img").first().attr("src"));
+        Element statistics = Utils.tryExtract(() -> document.getElementsByClass("profile-counts forms").first().child(0));
+        messagesCount = Utils.tryExtract(() -> Integer.parseInt(statistics.child(0).ownText()));
+        reputationScore = Utils.tryExtract(() -> Integer.parseInt(statistics.child(1).child(1).text()));
+        resourcesCount = Utils.tryExtract(() -> Integer.parseInt(statistics.child(2).ownText()));
+        revisionsCount = Utils.tryExtract(() -> Integer.parseInt(statistics.child(3).ownText()));
+        Elements follows = Utils.tryExtract(() -> document.getElementsByClass("col-sm-8").first().getElementsByTag("b"));
+        followedCount = Utils.tryExtract(() -> Integer.parseInt(follows.get(0).ownText()));
+        followersCount = Utils.tryExtract(() -> Integer.parseInt(follows.get(1).ownText()));
+        Elements minecraftNames = Utils.tryExtract(() -> profileInfo.getElementsByClass("username"));
+        boolean minecraftAccount = minecraftNames != null && minecraftNames.size() > 0;
+        minecraftUsername = minecraftAccount ? minecraftNames.first().text() : null;
+        minecraftSkinUrl = minecraftAccount ? Utils.tryExtract(() -> profileInfo.getElementsByTag("img").first().attr("src")) : null;
+        Elements bioElements = document.getElementsByClass("profile-bio");
+        bio = bioElements.size() == 0 ? null : Utils.tryExtract(() -> bioElements.first().getElementsByClass("collection-item").first().ownText());
+
+        Element messagesInfo = null, registrationInfo = null, lastVisitInfo = null, onlineTimeInfo = null, genderInfo = null, provenanceInfo = null;
+        Element table = Utils.tryExtract(() -> document.getElementsByClass("profile-more-info").first().getElementsByClass("collection-item").first());
+        if(table != null) {
+            for(Element element : table.getElementsByClass("row")) {
+                if(element.childrenSize() < 2) continue;
+                Element value = element.child(1);
+                switch(element.child(0).text()) {
+                    case "Messaggi": if(messagesInfo == null) messagesInfo = value; break;
+                    case "Iscritto dal": if(registrationInfo == null) registrationInfo = value; break;
+                    case "Ultima visita": if(lastVisitInfo == null) lastVisitInfo = value; break;
+                    case "Tempo online": if(onlineTimeInfo == null) onlineTimeInfo = value; break;
+                    case "Sesso": if(genderInfo == null) genderInfo = value; break;
+                    case "Provenienza": if(provenanceInfo == null) provenanceInfo = value; break;
+                }
+            }
+        }
+        Element messages = messagesInfo;
+        messagesPerDayCount = messages == null ? null : Utils.tryExtract(() -> {
+            try {
+                return Float.parseFloat(messages.text().split("\\(")[1].split(" ")[0]);
+            } catch(ArrayIndexOutOfBoundsException e) {
+                return 0F;
+            }
+        });
+        registrationDate = timestamp(registrationInfo);
+        lastVisitDate = timestamp(lastVisitInfo);
+        rawOnlineTime = onlineTimeInfo == null ? null : onlineTimeInfo.text();
+        gender = genderInfo == null ? null : genderInfo.text().equals("Maschio") ? User.Gender.MALE : User.Gender.FEMALE;
+        provenance = provenanceInfo == null ? null : provenanceInfo.text();
+
+        List<String> badges = new ArrayList<>();
+        Element badgesContainer = document.getElementsByClass("badges-container").first();
+        if(badgesContainer != null) {
+            for(Element element : badgesContainer.children()) {
+                badges.add(element.text());
+            }
+        }
+        this.badges = Collections.unmodifiableList(badges);
+
+        Map<User.SocialNetwork, String> socials = new EnumMap<>(User.SocialNetwork.class);
+        Element socialContainer = document.getElementsByClass("social").first();
+        if(socialContainer != null) {
+            for(Element element : socialContainer.children()) {
+                String attr = element.attr("class");
+                socials.put(
+                        User.SocialNetwork.valueOf(attr.substring("profile_".length(), attr.length()).toUpperCase()),
+                        element.attr("href")
+                );
+            }
+        }
+        this.socialNetworks = Collections.unmodifiableMap(socials);
+    }
+
+    private static Long timestamp(Element element) {
+        if(element == null || element.childrenSize() == 0) return null;
+        return Utils.getDateByTimestamp(element.child(0).attr("data-timestamp")).getTime();
+    }
+}
@@ -0,0 +1,60 @@
+package eu.iamgio.mcitaliaapi.user;
+
+import eu.iamgio.mcitaliaapi.exception.MinecraftItaliaException;
+import eu.iamgio.mcitaliaapi.util.Async;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Bulk operations on users
+ * @author Gio
+ */
+public class Users {
+
+    private Users() {}
+
+    /**
+     * Resolves many users concurrently on the executor of {@link Async}
+     * @param users Users to resolve
+     * @param concurrency Max amount of profiles fetched at once
+     * @return Parsed users, in the same order of <tt>users</tt>. An element is <tt>null</tt> if the user does not exist
+     * @throws MinecraftItaliaException if an error occurred during a request
+     */
+    public static List<User> fetchAll(Collection<UnparsedUser> users, int concurrency) throws MinecraftItaliaException {
+        if(concurrency <= 0) throw new IllegalArgumentException("Concurrency must be positive");
+        Semaphore semaphore = new Semaphore(concurrency);
+        List<CompletableFuture<User>> futures = new ArrayList<>(users.size());
+        for(UnparsedUser user : users) {
+            try {
+                semaphore.acquire();
+            } catch(InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new MinecraftItaliaException("Interrupted while fetching users");
+            }
+            futures.add(Async.supply(user::toParsedUser).whenComplete((result, throwable) -> semaphore.release()));
+        }
+        List<User> parsed = new ArrayList<>(futures.size());
+        for(CompletableFuture<User> future : futures) {
+            try {
+                parsed.add(future.join());
+            } catch(CompletionException e) {
+                if(e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+                throw e;
+            }
+        }
+        return parsed;
+    }
+
+    /**
+     * Resolves many users concurrently, fetching up to 16 profiles at once
+     * @see #fetchAll(Collection, int)
+     */
+    public static List<User> fetchAll(Collection<UnparsedUser> users) throws MinecraftItaliaException {
+        return fetchAll(users, 16);
+    }
+}
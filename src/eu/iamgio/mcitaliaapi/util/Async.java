@@ -0,0 +1,95 @@
+package eu.iamgio.mcitaliaapi.util;
+
+import eu.iamgio.mcitaliaapi.connection.Session;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs network-backed calls of the API asynchronously.
+ * By default tasks run on virtual threads (JDK 21+), or on a bounded pool of platform threads on older runtimes
+ * @author Gio
+ */
+public class Async {
+
+    private static Executor executor;
+
+    private Async() {}
+
+    /**
+     * @return Executor used by every <tt>*Async</tt> method
+     */
+    public static synchronized Executor getExecutor() {
+        if(executor == null) {
+            executor = newVirtualThreadExecutor();
+            if(executor == null) executor = newBoundedExecutor(32);
+        }
+        return executor;
+    }
+
+    /**
+     * Sets the executor used by every <tt>*Async</tt> method
+     * @param executor Executor
+     */
+    public static synchronized void setExecutor(Executor executor) {
+        Async.executor = executor;
+    }
+
+    /**
+     * Runs a task on the API executor, bound to the {@link Session} of the calling thread
+     * @param supplier Task
+     * @param <T> Result type
+     * @return Future completed with the result of the task, or exceptionally if it threw
+     */
+    public static <T> CompletableFuture<T> supply(Supplier<T> supplier) {
+        Session session = Session.current();
+        return CompletableFuture.supplyAsync(() -> session.call(supplier), getExecutor());
+    }
+
+    /**
+     * @return <tt>true</tt> if virtual threads are available on this runtime (JDK 21+)
+     */
+    public static boolean isVirtualThreadsSupported() {
+        try {
+            Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return true;
+        } catch(NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    /**
+     * @return Executor that starts a new virtual thread per task. <tt>null</tt> if virtual threads are not supported
+     */
+    public static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch(ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @param threads Max amount of threads
+     * @return Bounded pool of daemon threads that are released when idle
+     */
+    public static ExecutorService newBoundedExecutor(int threads) {
+        AtomicInteger count = new AtomicInteger();
+        ThreadFactory factory = runnable -> {
+            Thread thread = new Thread(runnable, "mcitaliaapi-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), factory);
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
@@ -0,0 +1,173 @@
+package eu.iamgio.mcitaliaapi.util;
+
+import org.jsoup.nodes.Element;
+
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
+import java.util.Date;
+import java.util.Locale;
+
+/**
+ * Statistics shown in the author block of topic posts and private messages, e.g.
+ * <tt>Messaggi: 8,148 Iscritto: Jan 2015</tt>, <tt>Discussioni: 97</tt>, <tt>Like ricevuti: 4,393 in 459 post</tt>, <tt>Like dati: 574</tt>.
+ * Counts are scanned in place, without splitting the texts
+ * @author Gio
+ */
+public class AuthorStatistics {
+
+    private static final DateTimeFormatter REGISTRATION_DATE_FORMAT = new DateTimeFormatterBuilder()
+            .parseCaseInsensitive()
+            .appendPattern("MMM yyyy")
+            .toFormatter(Locale.ENGLISH);
+
+    private final int messagesCount, topicsCount, likesReceivedCount, likedPostsCount, likesGivenCount;
+    private final String rawRegistrationDate;
+    private final Date registrationDate;
+
+    private AuthorStatistics(int messagesCount, int topicsCount, int likesReceivedCount, int likedPostsCount, int likesGivenCount, String rawRegistrationDate, Date registrationDate) {
+        this.messagesCount = messagesCount;
+        this.topicsCount = topicsCount;
+        this.likesReceivedCount = likesReceivedCount;
+        this.likedPostsCount = likedPostsCount;
+        this.likesGivenCount = likesGivenCount;
+        this.rawRegistrationDate = rawRegistrationDate;
+        this.registrationDate = registrationDate;
+    }
+
+    /**
+     * Parses the author block
+     * @param statistics Element of class <tt>author_statistics</tt>
+     * @param threads Element of class <tt>postbit_userthreads</tt>
+     * @param likesReceived Element of class <tt>postbit_tylreceived</tt>
+     * @param likesGiven Element of class <tt>postbit_tylgiven</tt>
+     * @return Parsed statistics
+     * @throws NumberFormatException if a count is missing
+     */
+    public static AuthorStatistics parse(Element statistics, Element threads, Element likesReceived, Element likesGiven) throws NumberFormatException {
+        String statisticsText = statistics.ownText();
+        String likesReceivedText = likesReceived.ownText();
+        String rawRegistrationDate = lastWords(statisticsText, 2);
+        return new AuthorStatistics(
+                scanInt(statisticsText, 0),
+                scanInt(threads.ownText(), 0),
+                scanInt(likesReceivedText, 0),
+                scanInt(likesReceivedText, 1),
+                scanInt(likesGiven.ownText(), 0),
+                rawRegistrationDate,
+                parseRegistrationDate(rawRegistrationDate)
+        );
+    }
+
+    /**
+     * Finds a number inside of a text. Commas between digits are treated as thousands separators
+     * @param text Text to scan
+     * @param index Index of the number among the ones in the text, starting from 0
+     * @return Value of the number
+     * @throws NumberFormatException if the text contains less numbers
+     */
+    public static int scanInt(String text, int index) throws NumberFormatException {
+        int length = text.length();
+        int i = 0, found = 0;
+        while(i < length) {
+            if(!isDigit(text.charAt(i))) {
+                i++;
+                continue;
+            }
+            int value = 0;
+            while(i < length) {
+                char c = text.charAt(i);
+                if(isDigit(c)) {
+                    value = value * 10 + (c - '0');
+                } else if(c != ',' || i + 1 == length || !isDigit(text.charAt(i + 1))) {
+                    break;
+                }
+                i++;
+            }
+            if(found++ == index) return value;
+        }
+        throw new NumberFormatException("Missing number n." + index + " in \"" + text + "\"");
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * @param text Text split by spaces
+     * @param count Amount of words
+     * @return Last <tt>count</tt> words of the text
+     */
+    private static String lastWords(String text, int count) {
+        int start = text.length();
+        while(count-- > 0 && start > 0) {
+            start = text.lastIndexOf(' ', start - 1);
+            if(start < 0) return text;
+        }
+        return text.substring(start + 1);
+    }
+
+    /**
+     * @param rawRegistrationDate Date such as <tt>Jan 2015</tt>
+     * @return First day of the month. <tt>null</tt> if it could not be parsed
+     */
+    private static Date parseRegistrationDate(String rawRegistrationDate) {
+        try {
+            YearMonth month = YearMonth.parse(rawRegistrationDate, REGISTRATION_DATE_FORMAT);
+            return Date.from(month.atDay(1).atStartOfDay(ZoneId.systemDefault()).toInstant());
+        } catch(DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return Amount of messages sent by the author
+     */
+    public int getMessagesCount() {
+        return messagesCount;
+    }
+
+    /**
+     * @return Amount of topics created by the author
+     */
+    public int getTopicsCount() {
+        return topicsCount;
+    }
+
+    /**
+     * @return Amount of likes received by the author
+     */
+    public int getLikesReceivedCount() {
+        return likesReceivedCount;
+    }
+
+    /**
+     * @return Amount of posts of the author that received likes
+     */
+    public int getLikedPostsCount() {
+        return likedPostsCount;
+    }
+
+    /**
+     * @return Amount of likes given by the author
+     */
+    public int getLikesGivenCount() {
+        return likesGivenCount;
+    }
+
+    /**
+     * @return Registration date as shown in the page, e.g. <tt>Jan 2015</tt>
+     */
+    public String getRawRegistrationDate() {
+        return rawRegistrationDate;
+    }
+
+    /**
+     * @return Registration date. <tt>null</tt> if it could not be parsed
+     */
+    public Date getRegistrationDate() {
+        return registrationDate;
+    }
+}
@@ -0,0 +1,120 @@
+package eu.iamgio.mcitaliaapi.util;
+
+import eu.iamgio.mcitaliaapi.connection.Session;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Lazy sequence of items split into pages, where each page is requested starting from the last item of the previous one.
+ * Pages are fetched on demand, and up to <tt>readAhead</tt> following pages are fetched in background
+ * on the {@link Async} executor while the current one is consumed. The sequence ends at the first empty page
+ * @param <T> Item type
+ * @author Gio
+ */
+public class PagedIterable<T> implements Iterable<T> {
+
+    private final Function<T, List<T>> pageLoader;
+    private final int readAhead;
+    private final Session session;
+
+    /**
+     * @param pageLoader Loads the page following the given item, or the first page if it is <tt>null</tt>
+     * @param readAhead Amount of pages to fetch in advance. <tt>0</tt> to fetch each page only when it is reached
+     */
+    public PagedIterable(Function<T, List<T>> pageLoader, int readAhead) {
+        if(readAhead < 0) throw new IllegalArgumentException("Invalid read-ahead");
+        this.pageLoader = pageLoader;
+        this.readAhead = readAhead;
+        this.session = Session.current();
+    }
+
+    /**
+     * @return New iterator that starts from the first page
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new PageIterator();
+    }
+
+    /**
+     * @return New sequential stream that starts from the first page
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator(), Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    private class PageIterator implements Iterator<T> {
+
+        private final Deque<CompletableFuture<List<T>>> pages = new ArrayDeque<>();
+        private CompletableFuture<List<T>> lastRequested;
+        private Iterator<T> current = Collections.emptyIterator();
+        private boolean finished;
+
+        @Override
+        public boolean hasNext() {
+            while(!current.hasNext()) {
+                if(finished) return false;
+                if(pages.isEmpty()) request();
+                CompletableFuture<List<T>> next = pages.poll();
+                // Read-ahead starts before waiting for the page, so that requests overlap with consumption
+                while(pages.size() < readAhead) request();
+                List<T> page = join(next);
+                if(page.isEmpty()) {
+                    finished = true;
+                    pages.clear();
+                    return false;
+                }
+                current = page.iterator();
+            }
+            return true;
+        }
+
+        @Override
+        public T next() {
+            if(!hasNext()) throw new NoSuchElementException();
+            return current.next();
+        }
+
+        private void request() {
+            if(lastRequested == null) {
+                lastRequested = readAhead == 0 ?
+                        CompletableFuture.completedFuture(session.call(() -> pageLoader.apply(null))) :
+                        CompletableFuture.supplyAsync(() -> session.call(() -> pageLoader.apply(null)), Async.getExecutor());
+            } else if(readAhead == 0) {
+                List<T> previous = join(lastRequested);
+                lastRequested = CompletableFuture.completedFuture(load(previous));
+            } else {
+                lastRequested = lastRequested.thenApplyAsync(this::load, Async.getExecutor());
+            }
+            pages.add(lastRequested);
+        }
+
+        private List<T> load(List<T> previous) {
+            if(previous.isEmpty()) return previous;
+            return session.call(() -> pageLoader.apply(previous.get(previous.size() - 1)));
+        }
+
+        private List<T> join(CompletableFuture<List<T>> future) {
+            try {
+                return future.join();
+            } catch(CompletionException e) {
+                finished = true;
+                pages.clear();
+                if(e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+                throw e;
+            }
+        }
+    }
+}
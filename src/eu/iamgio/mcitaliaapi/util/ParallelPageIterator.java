@@ -0,0 +1,94 @@
+package eu.iamgio.mcitaliaapi.util;
+
+import eu.iamgio.mcitaliaapi.connection.Session;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.IntFunction;
+
+/**
+ * Iterator over the items of a known amount of numbered pages.
+ * Up to <tt>parallelism</tt> pages are fetched concurrently (on the {@link Async} executor by default), in a window that slides
+ * forward as pages are consumed, while items are still returned in page order
+ * @param <T> Item type
+ * @author Gio
+ */
+public class ParallelPageIterator<T> implements Iterator<T> {
+
+    private final IntFunction<List<T>> pageLoader;
+    private final int pagesCount, parallelism;
+    private final Executor executor;
+    private final Session session;
+
+    private final Deque<CompletableFuture<List<T>>> window = new ArrayDeque<>();
+    private int nextPage;
+    private Iterator<T> current = Collections.emptyIterator();
+
+    /**
+     * @param pageLoader Loads a page by its index
+     * @param firstPage Index of the first page to load
+     * @param pagesCount Amount of pages
+     * @param parallelism Max amount of pages fetched at the same time
+     * @param executor Executor pages are fetched on
+     */
+    public ParallelPageIterator(IntFunction<List<T>> pageLoader, int firstPage, int pagesCount, int parallelism, Executor executor) {
+        if(parallelism <= 0) throw new IllegalArgumentException("Invalid parallelism");
+        this.pageLoader = pageLoader;
+        this.nextPage = firstPage;
+        this.pagesCount = pagesCount;
+        this.parallelism = parallelism;
+        this.executor = executor;
+        this.session = Session.current();
+    }
+
+    /**
+     * @param pageLoader Loads a page by its index
+     * @param firstPage Index of the first page to load
+     * @param pagesCount Amount of pages
+     * @param parallelism Max amount of pages fetched at the same time
+     */
+    public ParallelPageIterator(IntFunction<List<T>> pageLoader, int firstPage, int pagesCount, int parallelism) {
+        this(pageLoader, firstPage, pagesCount, parallelism, Async.getExecutor());
+    }
+
+    @Override
+    public boolean hasNext() {
+        while(!current.hasNext()) {
+            fill();
+            CompletableFuture<List<T>> page = window.peek();
+            if(page == null) return false;
+            try {
+                current = page.join().iterator();
+                // The window slides forward while the page is consumed
+                window.poll();
+                fill();
+            } catch(CompletionException e) {
+                nextPage = pagesCount;
+                window.clear();
+                if(e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+                throw e;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public T next() {
+        if(!hasNext()) throw new NoSuchElementException();
+        return current.next();
+    }
+
+    private void fill() {
+        while(window.size() < parallelism && nextPage < pagesCount) {
+            int page = nextPage++;
+            window.add(CompletableFuture.supplyAsync(() -> session.call(() -> pageLoader.apply(page)), executor));
+        }
+    }
+}
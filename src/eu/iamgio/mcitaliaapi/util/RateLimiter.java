@@ -0,0 +1,122 @@
+package eu.iamgio.mcitaliaapi.util;
+
+import eu.iamgio.mcitaliaapi.exception.MinecraftItaliaException;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Token bucket rate limiter: permits are refilled at a constant rate, and up to <tt>burst</tt> unused permits
+ * can be stored to be used at once. Threads are served in the order they ask for a permit.
+ * Time spent waiting for permits is recorded
+ * @author Gio
+ */
+public class RateLimiter {
+
+    private final long intervalNanos, burstToleranceNanos;
+    private final ReentrantLock lock = new ReentrantLock(true);
+
+    private long theoreticalArrival;
+
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final AtomicLong acquired = new AtomicLong(), totalWaitNanos = new AtomicLong(), maxWaitNanos = new AtomicLong();
+
+    /**
+     * @param permitsPerSecond Max amount of permits per second
+     * @param burst Max amount of permits that can be stored while unused
+     */
+    public RateLimiter(double permitsPerSecond, int burst) {
+        if(permitsPerSecond <= 0 || burst < 1) throw new IllegalArgumentException("Invalid rate");
+        this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+        this.burstToleranceNanos = intervalNanos * (burst - 1);
+        this.theoreticalArrival = System.nanoTime();
+    }
+
+    /**
+     * Creates a rate limiter that spaces permits evenly, without bursts
+     * @param permitsPerSecond Max amount of permits per second
+     */
+    public RateLimiter(double permitsPerSecond) {
+        this(permitsPerSecond, 1);
+    }
+
+    /**
+     * Blocks until a permit is available
+     * @throws MinecraftItaliaException if the thread is interrupted while waiting
+     */
+    public void acquire() throws MinecraftItaliaException {
+        long start = System.nanoTime();
+        waiting.incrementAndGet();
+        try {
+            long wait = reserve() - System.nanoTime();
+            if(wait > 0) TimeUnit.NANOSECONDS.sleep(wait);
+        } catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MinecraftItaliaException("Interrupted while waiting for a permit.");
+        } finally {
+            waiting.decrementAndGet();
+        }
+        long waited = System.nanoTime() - start;
+        acquired.incrementAndGet();
+        totalWaitNanos.addAndGet(waited);
+        maxWaitNanos.accumulateAndGet(waited, Math::max);
+    }
+
+    /**
+     * Reserves the next permit
+     * @return Time (as of {@link System#nanoTime()}) at which the permit can be used
+     * @throws InterruptedException if the thread is interrupted while queued
+     */
+    private long reserve() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            // Equivalent to a token bucket: the bucket is full when the theoretical arrival time is not ahead of now
+            long arrival = Math.max(theoreticalArrival, System.nanoTime());
+            theoreticalArrival = arrival + intervalNanos;
+            return arrival - burstToleranceNanos;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return Amount of threads currently waiting for a permit
+     */
+    public int getQueueLength() {
+        return waiting.get();
+    }
+
+    /**
+     * @return Amount of permits given so far
+     */
+    public long getAcquiredCount() {
+        return acquired.get();
+    }
+
+    /**
+     * @param unit Time unit
+     * @return Total time spent waiting for permits
+     */
+    public long getTotalWaitTime(TimeUnit unit) {
+        return unit.convert(totalWaitNanos.get(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @param unit Time unit
+     * @return Longest time spent waiting for a single permit
+     */
+    public long getMaxWaitTime(TimeUnit unit) {
+        return unit.convert(maxWaitNanos.get(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @param unit Time unit
+     * @return Average time spent waiting for a permit
+     */
+    public long getAverageWaitTime(TimeUnit unit) {
+        long acquired = this.acquired.get();
+        return acquired == 0 ? 0 : getTotalWaitTime(unit) / acquired;
+    }
+}
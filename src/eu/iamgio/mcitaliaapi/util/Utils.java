@@ -5,6 +5,7 @@ import org.json.simple.JSONObject;
 
 import java.util.Calendar;
 import java.util.Date;
+import java.util.function.Supplier;
 
 /**
  * Utility class
@@ -14,6 +15,20 @@ public class Utils {
 
     private Utils() {}
 
+    /**
+     * Runs an extractor of an optional field of a page
+     * @param extractor Field extractor
+     * @param <T> Field type
+     * @return Extracted field. <tt>null</tt> if it could not be found
+     */
+    public static <T> T tryExtract(Supplier<T> extractor) {
+        try {
+            return extractor.get();
+        } catch(NullPointerException | IndexOutOfBoundsException | NumberFormatException e) {
+            return null;
+        }
+    }
+
     public static Date getDateByTimestamp(String timestamp) {
         Calendar calendar = Calendar.getInstance();
         calendar.setTimeInMillis(Long.parseLong(timestamp + "000"));
@@ -0,0 +1,99 @@
+package eu.iamgio.mcitaliaapi.connection;
+
+import eu.iamgio.mcitaliaapi.exception.HttpStatusException;
+import org.jsoup.nodes.Document;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * Status handling of {@link HttpConnection} against a stub {@link Transport}
+ * @author Gio
+ */
+public class HttpConnectionTest {
+
+    private static final String URL = "https://status.test/page";
+
+    private StubTransport transport;
+    private Session session;
+
+    @Before
+    public void setup() {
+        CircuitBreaker.of("status.test").reset();
+        transport = new StubTransport();
+        session = new Session();
+        session.setTransport(transport);
+    }
+
+    private HttpConnection connection() {
+        return new HttpConnection(URL, session).connect().retryPolicy(new RetryPolicy(3, 0, 0));
+    }
+
+    @Test
+    public void getThrowsWhenRetriesEndOnUnavailable() {
+        transport.enqueue(503, 503, 503);
+        try {
+            connection().get();
+            fail("The error page was parsed as content");
+        } catch(HttpStatusException e) {
+            assertEquals(503, e.getStatusCode());
+            assertEquals(URL, e.getUrl());
+        }
+        assertEquals(3, transport.calls);
+    }
+
+    @Test
+    public void getRecoversAfterUnavailable() {
+        transport.enqueue(503, 503, 200);
+        Document document = connection().get();
+        assertEquals("ok", document.body().text());
+        assertEquals(3, transport.calls);
+    }
+
+    @Test
+    public void postThrowsOnUnavailableWithoutRetrying() {
+        transport.enqueue(503);
+        try {
+            connection().postRaw();
+            fail("The error page was returned as content");
+        } catch(HttpStatusException e) {
+            assertEquals(503, e.getStatusCode());
+        }
+        assertEquals(1, transport.calls);
+    }
+
+    @Test
+    public void getReturnsNotFoundPage() {
+        transport.enqueue(404);
+        assertEquals(404, connection().getRaw().statusCode());
+    }
+
+    /**
+     * Answers with the queued status codes, with <tt>ok</tt> as body of the successful ones
+     */
+    private static class StubTransport implements Transport {
+
+        private final Deque<Integer> statusCodes = new ArrayDeque<>();
+        private int calls;
+
+        void enqueue(Integer... statusCodes) {
+            this.statusCodes.addAll(Arrays.asList(statusCodes));
+        }
+
+        @Override
+        public Response execute(Request request) {
+            calls++;
+            int statusCode = statusCodes.isEmpty() ? 200 : statusCodes.poll();
+            String body = statusCode < 400 ? "<html><body>ok</body></html>" : "<html><body>Service unavailable</body></html>";
+            return new Response(request.getUrl(), statusCode, new HashMap<>(), new HashMap<>(), "UTF-8", body.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}